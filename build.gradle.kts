@@ -18,9 +18,10 @@ plugins {
 group = "frankproject"
 version = "0.0.1"
 
+//가상 스레드(spring.threads.virtual.enabled) 사용을 위해 21로 상향
 java {
 	toolchain {
-		languageVersion = JavaLanguageVersion.of(17)
+		languageVersion = JavaLanguageVersion.of(21)
 	}
 }
 
@@ -49,6 +50,7 @@ dependencies {
 
 	// Redis
 	implementation("org.springframework.boot:spring-boot-starter-data-redis")
+	implementation("org.apache.commons:commons-pool2")
 
 	// kafka
 	implementation ("org.springframework.kafka:spring-kafka")
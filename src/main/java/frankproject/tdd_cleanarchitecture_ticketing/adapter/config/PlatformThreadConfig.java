@@ -0,0 +1,34 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+
+import java.time.Duration;
+
+// 플랫폼 스레드 모드 (가상 스레드 모드는 VirtualThreadConfig)
+// 두 모드 모두 Redis 풀 크기와 대기 시간을 명시해, commons-pool2 의존성만으로 켜진 풀이 부트 기본값으로 돌지 않게 한다
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "false", matchIfMissing = true)
+public class PlatformThreadConfig {
+
+    // commons-pool2가 있으면 부트가 풀링 빌더를 넘겨준다
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer platformThreadLettuceCustomizer(PlatformThreadProperties properties) {
+        return builder -> {
+            if (builder instanceof LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder pooling) {
+                GenericObjectPoolConfig<Object> poolConfig = new GenericObjectPoolConfig<>();
+                poolConfig.setMaxTotal(properties.getRedisPoolSize());
+                poolConfig.setMaxIdle(properties.getRedisPoolSize());
+                poolConfig.setMaxWait(Duration.ofMillis(properties.getRedisMaxWaitMillis()));
+                pooling.poolConfig(poolConfig);
+                log.info("플랫폼 스레드 모드 Redis 풀: {}개, 대기 {}ms", properties.getRedisPoolSize(), properties.getRedisMaxWaitMillis());
+            }
+        };
+    }
+}
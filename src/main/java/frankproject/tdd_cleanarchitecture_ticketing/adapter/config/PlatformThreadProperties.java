@@ -0,0 +1,24 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+// 플랫폼 스레드 모드(spring.threads.virtual.enabled가 없거나 false)에서의 Redis 풀 크기
+// commons-pool2가 있으면 모드와 관계없이 Lettuce 풀이 켜지므로, 부트 기본값(8개, 무한 대기) 대신 이 값을 쓴다
+// platform-threads.redis-pool-size=16
+// platform-threads.redis-max-wait-millis=2000
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "platform-threads")
+public class PlatformThreadProperties {
+
+    // 파이프라인/트랜잭션처럼 전용 커넥션이 필요한 Redis 명령용 풀 (일반 명령은 공유 커넥션 하나를 사용)
+    // 요청 스레드 수(톰캣 기본 200)가 동시성을 제한하므로 가상 스레드 모드보다 작게 둔다
+    private int redisPoolSize = 16;
+
+    // 풀이 가득 차면 요청 스레드를 무한정 붙잡지 않고 실패시킨다
+    private long redisMaxWaitMillis = 2000;
+}
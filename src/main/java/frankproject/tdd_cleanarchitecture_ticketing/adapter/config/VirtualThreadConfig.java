@@ -0,0 +1,54 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+
+import java.time.Duration;
+
+// 가상 스레드 모드 (spring.threads.virtual.enabled=true, Java 21 이상)
+// 톰캣 요청 처리와 @Async/@Scheduled 실행기는 스프링 부트가 가상 스레드로 바꾸고,
+// 여기서는 블로킹 I/O가 몰리는 JDBC/Redis 풀 크기를 가상 스레드 기준으로 맞춘다 (플랫폼 스레드 모드의 Redis 풀은 PlatformThreadConfig)
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // 데이터 소스 생성 후 풀 크기와 대기 시간 조정 (풀은 첫 커넥션 요청 때 시작되므로 그 전에 반영된다)
+    @Bean
+    public static BeanPostProcessor virtualThreadDataSourcePostProcessor(ObjectProvider<VirtualThreadProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    VirtualThreadProperties props = properties.getObject();
+                    dataSource.setMaximumPoolSize(props.getJdbcPoolSize());
+                    dataSource.setConnectionTimeout(props.getJdbcConnectionTimeoutMillis());
+                    log.info("가상 스레드 모드 JDBC 풀: {}개, 대기 {}ms", props.getJdbcPoolSize(), props.getJdbcConnectionTimeoutMillis());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // commons-pool2가 있으면 부트가 풀링 빌더를 넘겨준다
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer virtualThreadLettuceCustomizer(VirtualThreadProperties properties) {
+        return builder -> {
+            if (builder instanceof LettucePoolingClientConfiguration.LettucePoolingClientConfigurationBuilder pooling) {
+                GenericObjectPoolConfig<Object> poolConfig = new GenericObjectPoolConfig<>();
+                poolConfig.setMaxTotal(properties.getRedisPoolSize());
+                poolConfig.setMaxIdle(properties.getRedisPoolSize());
+                poolConfig.setMaxWait(Duration.ofMillis(properties.getRedisMaxWaitMillis()));
+                pooling.poolConfig(poolConfig);
+            }
+        };
+    }
+}
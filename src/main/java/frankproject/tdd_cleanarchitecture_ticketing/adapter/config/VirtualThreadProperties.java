@@ -0,0 +1,29 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+// 가상 스레드 모드(spring.threads.virtual.enabled=true)에서의 커넥션 풀 크기
+// 요청 스레드 수가 더 이상 동시성을 제한하지 않으므로 DB/Redis 풀이 실제 상한이 된다
+// virtual-threads.jdbc-pool-size=40
+// virtual-threads.jdbc-connection-timeout-millis=2000
+// virtual-threads.redis-pool-size=64
+// virtual-threads.redis-max-wait-millis=1000
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+
+    // MariaDB max_connections를 서버 대수로 나눈 값보다 작게 유지
+    private int jdbcPoolSize = 40;
+
+    // 풀이 가득 차면 오래 쌓아 두지 않고 빨리 실패시킨다 (플랫폼 스레드 모드의 기본값은 30초)
+    private long jdbcConnectionTimeoutMillis = 2000;
+
+    // 파이프라인/트랜잭션처럼 전용 커넥션이 필요한 Redis 명령용 풀 (일반 명령은 공유 커넥션 하나를 사용)
+    private int redisPoolSize = 64;
+    private long redisMaxWaitMillis = 1000;
+}
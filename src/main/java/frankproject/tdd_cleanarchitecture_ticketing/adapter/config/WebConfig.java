@@ -1,8 +1,13 @@
 package frankproject.tdd_cleanarchitecture_ticketing.adapter.config;
 
+import frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor.ActiveTokenCache;
+import frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor.IssuedTokenFilter;
+import frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor.RevokedTokens;
 import frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor.TokenInterceptor;
 import frankproject.tdd_cleanarchitecture_ticketing.application.usecase.TokenUsecase;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.AccessTokenSigner;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -12,14 +17,30 @@ public class WebConfig implements WebMvcConfigurer {
 
     private final TokenUsecase tokenUsecase;
 
+    private final ActiveTokenCache activeTokenCache;
+
+    private final AccessTokenSigner accessTokenSigner;
+
+    private final RevokedTokens revokedTokens;
+
+    private final IssuedTokenFilter issuedTokenFilter;
+
+    private final long clockSkewMillis;
+
     @Autowired
-    public WebConfig(TokenUsecase tokenUsecase) {
+    public WebConfig(TokenUsecase tokenUsecase, ActiveTokenCache activeTokenCache, AccessTokenSigner accessTokenSigner, RevokedTokens revokedTokens, IssuedTokenFilter issuedTokenFilter,
+                     @Value("${token.signing.clock-skew-millis:2000}") long clockSkewMillis) {
         this.tokenUsecase = tokenUsecase;
+        this.activeTokenCache = activeTokenCache;
+        this.accessTokenSigner = accessTokenSigner;
+        this.revokedTokens = revokedTokens;
+        this.issuedTokenFilter = issuedTokenFilter;
+        this.clockSkewMillis = clockSkewMillis;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new TokenInterceptor(tokenUsecase))
+        registry.addInterceptor(new TokenInterceptor(tokenUsecase, activeTokenCache, accessTokenSigner, revokedTokens, issuedTokenFilter, clockSkewMillis))
                 .addPathPatterns("/api/reservation/**")
                 .addPathPatterns("/api/concerts/**")
                 .excludePathPatterns("/api/concerts");
@@ -1,18 +1,33 @@
 package frankproject.tdd_cleanarchitecture_ticketing.adapter.controller;
 
+import frankproject.tdd_cleanarchitecture_ticketing.adapter.event.QueueStatusEmitters;
+import frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor.IssuedTokenFilter;
 import frankproject.tdd_cleanarchitecture_ticketing.adapter.request.TokenRequest;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.AccessTokenDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.AdmissionDecisionDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.AdmissionTickDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.HeartbeatEvictionDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.IssuedTokenFilterDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.QueueStatusDTO;
 import frankproject.tdd_cleanarchitecture_ticketing.application.dto.TokenDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.schedule.AdmissionLimiter;
+import frankproject.tdd_cleanarchitecture_ticketing.application.schedule.TokenSchedule;
 import frankproject.tdd_cleanarchitecture_ticketing.application.usecase.TokenUsecase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/tokens")
@@ -21,15 +36,27 @@ public class TokenController {
 
     private final TokenUsecase tokenUsecase;
 
+    private final QueueStatusEmitters queueStatusEmitters;
+
+    private final AdmissionLimiter admissionLimiter;
+
+    private final IssuedTokenFilter issuedTokenFilter;
+
+    private final TokenSchedule tokenSchedule;
+
     @Autowired
-    public TokenController(TokenUsecase tokenUsecase) {
+    public TokenController(TokenUsecase tokenUsecase, QueueStatusEmitters queueStatusEmitters, AdmissionLimiter admissionLimiter, IssuedTokenFilter issuedTokenFilter, TokenSchedule tokenSchedule) {
         this.tokenUsecase = tokenUsecase;
+        this.queueStatusEmitters = queueStatusEmitters;
+        this.admissionLimiter = admissionLimiter;
+        this.issuedTokenFilter = issuedTokenFilter;
+        this.tokenSchedule = tokenSchedule;
     }
 
     @Operation(summary = "토큰 발급/콘서트 대기열 참가")
     @PostMapping("/generate")
     public ResponseEntity<TokenDTO> generateNewToken(@RequestBody TokenRequest request) {
-        TokenDTO tokenDTO = tokenUsecase.generateNewToken(request.getCustomerId(), request.getConcertId());
+        TokenDTO tokenDTO = tokenUsecase.generateNewToken(request.getCustomerId(), request.getConcertId(), request.getLane());
         return ResponseEntity.ok(tokenDTO);
     }
 
@@ -39,4 +66,60 @@ public class TokenController {
         TokenDTO tokenDTO = tokenUsecase.checkToken(customerId, concertId);
         return ResponseEntity.ok(tokenDTO);
     }
+
+    @Operation(summary = "본인 콘서트 대기열 순번 구독 (SSE)")
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToken(@RequestParam("customerId") long customerId, @RequestParam("concertId") long concertId) {
+        // 통과 처리와 같은 대기열 엔진에서 순번을 읽어야 이후 통과 알림으로 당기는 순번과 맞는다 (대기 중이 아니면 TOKEN_NOT_FOUND)
+        long position = tokenUsecase.checkQueuePosition(customerId, concertId);
+        // 순번은 차선마다 따로 매겨지므로 자기 차선의 통과 인원만큼만 당긴다
+        int lane = tokenUsecase.checkQueueLane(customerId, concertId);
+        return queueStatusEmitters.subscribe(new QueueStatusDTO(customerId, concertId, position, "PENDING"), lane);
+    }
+
+    @Operation(summary = "대기열 통과 토큰을 서명된 접근 토큰으로 교환")
+    @PostMapping("/access")
+    public ResponseEntity<AccessTokenDTO> issueAccessToken(@RequestHeader("Authorization") UUID tokenId, @RequestParam("concertId") long concertId) {
+        AccessTokenDTO accessTokenDTO = tokenUsecase.issueAccessTokenWithRedis(concertId, tokenId);
+        return ResponseEntity.ok(accessTokenDTO);
+    }
+
+    @Operation(summary = "대기 중 하트비트 (끊기면 대기열 통과 전에 제거)")
+    @PostMapping("/heartbeat")
+    public ResponseEntity<Void> heartbeat(@RequestParam("customerId") long customerId, @RequestParam("concertId") long concertId) {
+        tokenUsecase.heartbeatWithRedis(customerId, concertId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "하트비트가 끊겨 제거한 대기자 현황 (아낀 활성화 슬롯 수)")
+    @GetMapping("/heartbeat")
+    public ResponseEntity<HeartbeatEvictionDTO> heartbeatEviction() {
+        return ResponseEntity.ok(tokenUsecase.findHeartbeatEvictionWithRedis());
+    }
+
+    @Operation(summary = "최대 활성화 인원 자동 조절 현황")
+    @GetMapping("/admission")
+    public ResponseEntity<AdmissionDecisionDTO> admissionDecision() {
+        AdmissionDecisionDTO decision = admissionLimiter.getLastDecision();
+        if (decision == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(decision);
+    }
+
+    @Operation(summary = "대기열 통과 스케줄러 마지막 주기 처리 결과 (소요 시간, 처리/건너뛴 콘서트 수)")
+    @GetMapping("/tick")
+    public ResponseEntity<AdmissionTickDTO> admissionTick() {
+        AdmissionTickDTO tick = tokenSchedule.getLastTick();
+        if (tick == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(tick);
+    }
+
+    @Operation(summary = "활성화 토큰 사전 필터 현황 (예상 오탐률, 메모리 사용량)")
+    @GetMapping("/filter")
+    public ResponseEntity<IssuedTokenFilterDTO> issuedTokenFilter() {
+        return ResponseEntity.ok(issuedTokenFilter.stats());
+    }
 }
@@ -0,0 +1,73 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.event;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.event.QueueChangedEvent;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.event.TokensAdmittedEvent;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 대기열 알림(Redis pub/sub)을 이 서버의 이벤트로 발행
+// 참가/회수는 어느 서버에서든 일어나고 통과는 리더 한 대에서만 일어나므로, 모든 서버가 같은 알림을 받아
+// 리더는 스케줄러를 깨우고 각 서버는 자기 SSE 구독자의 순번을 갱신한다 (token.queue.events.relay=redis일 때만 등록)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "token.queue.events.relay", havingValue = "redis")
+public class QueueEventSubscriber implements MessageListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public QueueEventSubscriber(RedisMessageListenerContainer listenerContainer, ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        listenerContainer.addMessageListener(this, List.of(
+                new ChannelTopic(TokenService.QUEUE_CHANGED_CHANNEL),
+                new ChannelTopic(TokenService.QUEUE_ADMITTED_CHANNEL)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (TokenService.QUEUE_CHANGED_CHANNEL.equals(channel)) {
+                eventPublisher.publishEvent(new QueueChangedEvent(Long.parseLong(body)));
+            } else {
+                // "콘서트 ID:차선=인원,차선=인원:차선=제거 순번.제거 순번,..." (통과나 제거가 없으면 해당 목록이 비어 있다)
+                String[] fields = body.split(":", -1);
+                Map<Integer, Long> admittedByLane = new HashMap<>();
+                for (String laneCount : fields[1].split(",")) {
+                    if (laneCount.isEmpty()) {
+                        continue;
+                    }
+                    int separator = laneCount.indexOf('=');
+                    admittedByLane.put(Integer.parseInt(laneCount.substring(0, separator)), Long.parseLong(laneCount.substring(separator + 1)));
+                }
+                Map<Integer, List<Long>> evictedPositionsByLane = new HashMap<>();
+                for (String lanePositions : fields.length > 2 ? fields[2].split(",") : new String[0]) {
+                    if (lanePositions.isEmpty()) {
+                        continue;
+                    }
+                    int separator = lanePositions.indexOf('=');
+                    evictedPositionsByLane.put(Integer.parseInt(lanePositions.substring(0, separator)),
+                            Arrays.stream(lanePositions.substring(separator + 1).split("\\.")).map(Long::parseLong).toList());
+                }
+                eventPublisher.publishEvent(new TokensAdmittedEvent(Long.parseLong(fields[0]), admittedByLane, evictedPositionsByLane));
+            }
+        } catch (RuntimeException e) {
+            log.error("잘못된 대기열 알림 채널: {}, 내용: {}", channel, body);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.event;
+
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.QueueStatusDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.usecase.TokenUsecase;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.event.TokensAdmittedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 대기열 순번을 SSE로 구독 중인 고객 관리
+// 리더 스케줄러가 주기마다 Redis로 알리는 차선별 통과 인원 한 번으로 이 서버에 연결된 모든 구독자의 순번을 갱신한다 (자기 차선의 인원만큼 당김)
+// 구독자 전송은 전용 스레드 하나에서 처리해 통과 처리 스레드를 붙잡지 않고, 이벤트 순서대로 순번을 당긴다
+// 연결이 살아 있는 구독자는 대기 중인 것으로 보고 주기적으로 하트비트를 대신 갱신한다
+// 하트비트가 끊긴 대기자가 제거된 주기에는 함께 전달된 제거 순번 중 자기보다 앞선 수만큼 더 당긴다
+// 제거 순번을 알 수 없는 경우(분할 대기열)에만 구독자 순번을 대기열에서 다시 조회하며, 콘서트별로 resync-interval-millis에 한 번으로 제한한다
+@Slf4j
+@Component
+public class QueueStatusEmitters {
+
+    private static final String RANK_EVENT = "rank";
+    private static final String ADMITTED_EVENT = "admitted";
+
+    // 콘서트 ID -> 고객 ID -> 구독 정보
+    private final Map<Long, Map<Long, Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // 재조회가 예약된 콘서트 ID (예약된 재조회가 실행되기 전의 요청은 그 재조회 하나로 합친다)
+    private final Set<Long> resyncScheduled = ConcurrentHashMap.newKeySet();
+    // 콘서트 ID -> 마지막 재조회 시각 (전송 스레드에서만 갱신)
+    private final Map<Long, Long> lastResyncAt = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis;
+
+    private final long resyncIntervalMillis;
+
+    private final TokenUsecase tokenUsecase;
+
+    private final ScheduledExecutorService fanOutExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "queue-status-fan-out");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public QueueStatusEmitters(@Value("${token.sse.timeout-millis:1800000}") long timeoutMillis,
+                               @Value("${token.sse.resync-interval-millis:5000}") long resyncIntervalMillis,
+                               TokenUsecase tokenUsecase) {
+        this.timeoutMillis = timeoutMillis;
+        this.resyncIntervalMillis = resyncIntervalMillis;
+        this.tokenUsecase = tokenUsecase;
+    }
+
+    // 현재 대기 순번과 대기 중인 차선으로 구독 시작
+    public SseEmitter subscribe(QueueStatusDTO status, int lane) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        long concertId = status.getConcertId();
+        long customerId = status.getCustomerId();
+
+        if ("ACTIVE".equals(status.getStatus())) {
+            sendAdmitted(emitter, customerId, concertId);
+            return emitter;
+        }
+
+        Subscriber subscriber = new Subscriber(customerId, lane, emitter, status.getWaitNumber());
+        Map<Long, Subscriber> concertSubscribers = subscribers.computeIfAbsent(concertId, id -> new ConcurrentHashMap<>());
+        Subscriber previous = concertSubscribers.put(customerId, subscriber);
+        if (previous != null) {
+            previous.emitter.complete();
+        }
+        emitter.onCompletion(() -> concertSubscribers.remove(customerId, subscriber));
+        emitter.onTimeout(() -> concertSubscribers.remove(customerId, subscriber));
+        emitter.onError(e -> concertSubscribers.remove(customerId, subscriber));
+
+        send(subscriber, concertId);
+        return emitter;
+    }
+
+    // 구독자 차선의 제거 순번과 통과 인원만큼 순번을 당기고, 통과한 고객에게는 활성화 알림
+    @EventListener
+    public void onTokensAdmitted(TokensAdmittedEvent event) {
+        Map<Long, Subscriber> concertSubscribers = subscribers.get(event.getConcertId());
+        if (concertSubscribers == null || concertSubscribers.isEmpty() || event.isEmpty()) {
+            return;
+        }
+        fanOutExecutor.execute(() -> shift(concertSubscribers, event));
+        if (event.isResync()) {
+            scheduleResync(event.getConcertId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+
+    // 제거 순번은 앞의 제거가 반영된 순번이므로 제거한 순서대로 비교하며 당긴다 (알 수 없는 순번은 재조회로 맞춘다)
+    private void shift(Map<Long, Subscriber> concertSubscribers, TokensAdmittedEvent event) {
+        for (Subscriber subscriber : concertSubscribers.values()) {
+            long waitNumber = subscriber.waitNumber.get();
+            long shifted = waitNumber;
+            for (long evictedPosition : event.getEvictedPositions(subscriber.lane)) {
+                if (evictedPosition > 0 && evictedPosition < shifted) {
+                    shifted--;
+                }
+            }
+            shifted -= event.getAdmittedCount(subscriber.lane);
+            if (shifted == waitNumber) {
+                continue;
+            }
+            subscriber.waitNumber.set(shifted);
+            if (shifted <= 0) {
+                concertSubscribers.remove(subscriber.customerId, subscriber);
+                sendAdmitted(subscriber.emitter, subscriber.customerId, event.getConcertId());
+            } else {
+                send(subscriber, event.getConcertId());
+            }
+        }
+    }
+
+    // 마지막 재조회 후 resync-interval-millis가 지난 시점에 재조회 한 번을 예약 (이미 예약되어 있으면 그 재조회로 합친다)
+    private void scheduleResync(long concertId) {
+        if (!resyncScheduled.add(concertId)) {
+            return;
+        }
+        long delay = Math.max(0, lastResyncAt.getOrDefault(concertId, 0L) + resyncIntervalMillis - System.currentTimeMillis());
+        fanOutExecutor.schedule(() -> {
+            resyncScheduled.remove(concertId);
+            lastResyncAt.put(concertId, System.currentTimeMillis());
+            Map<Long, Subscriber> concertSubscribers = subscribers.get(concertId);
+            if (concertSubscribers != null) {
+                resync(concertSubscribers, concertId);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // 대기열에서 순번을 다시 읽어 전송 (더 이상 대기 중이 아니면 통과한 것으로 보고 활성화 알림)
+    // 구독자는 하트비트를 계속 갱신하므로 제거 대상이 되지 않고, 대기열에 없다면 이번 주기에 통과한 것이다
+    private void resync(Map<Long, Subscriber> concertSubscribers, long concertId) {
+        for (Subscriber subscriber : concertSubscribers.values()) {
+            long position;
+            try {
+                position = tokenUsecase.checkQueuePosition(subscriber.customerId, concertId);
+            } catch (RuntimeException e) {
+                if (e instanceof CoreException coreException && coreException.getErrorCode() == ErrorCode.TOKEN_NOT_FOUND) {
+                    concertSubscribers.remove(subscriber.customerId, subscriber);
+                    sendAdmitted(subscriber.emitter, subscriber.customerId, concertId);
+                } else {
+                    log.warn("구독자 순번 재조회 실패 고객 ID: {}, {}", subscriber.customerId, e.getMessage());
+                }
+                continue;
+            }
+            subscriber.waitNumber.set(position);
+            send(subscriber, concertId);
+        }
+    }
+
+    // 콘서트별로 구독자 하트비트를 한 번의 파이프라인으로 갱신 (하트비트 제한 시간보다 짧은 주기)
+    @Scheduled(fixedDelayString = "${token.queue.heartbeat.sse-refresh-millis:20000}")
+    public void refreshHeartbeats() {
+        subscribers.forEach((concertId, concertSubscribers) -> {
+            if (concertSubscribers.isEmpty()) {
+                return;
+            }
+            try {
+                tokenUsecase.refreshHeartbeatsWithRedis(concertId, List.copyOf(concertSubscribers.keySet()));
+            } catch (Exception e) {
+                log.warn("구독자 하트비트 갱신 실패 콘서트 ID: {}, {}", concertId, e.getMessage());
+            }
+        });
+    }
+
+    public int countSubscribers(long concertId) {
+        Map<Long, Subscriber> concertSubscribers = subscribers.get(concertId);
+        return concertSubscribers == null ? 0 : concertSubscribers.size();
+    }
+
+    private void send(Subscriber subscriber, long concertId) {
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .name(RANK_EVENT)
+                    .data(new QueueStatusDTO(subscriber.customerId, concertId, subscriber.waitNumber.get(), "PENDING")));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패 고객 ID: {}, {}", subscriber.customerId, e.getMessage());
+            subscribers.getOrDefault(concertId, Map.of()).remove(subscriber.customerId, subscriber);
+        }
+    }
+
+    private void sendAdmitted(SseEmitter emitter, long customerId, long concertId) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(ADMITTED_EVENT)
+                    .data(new QueueStatusDTO(customerId, concertId, 0, "ACTIVE")));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패 고객 ID: {}, {}", customerId, e.getMessage());
+        }
+    }
+
+    private static class Subscriber {
+        private final long customerId;
+        private final int lane;
+        private final SseEmitter emitter;
+        // 전송 스레드에서 당기고 구독 요청 스레드에서도 읽으므로 원자적으로 갱신
+        private final AtomicLong waitNumber;
+
+        private Subscriber(long customerId, int lane, SseEmitter emitter, long waitNumber) {
+            this.customerId = customerId;
+            this.lane = lane;
+            this.emitter = emitter;
+            this.waitNumber = new AtomicLong(waitNumber);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 검증된 활성화 토큰을 만료 시각까지 서버 메모리에 보관하는 캐시
+// 토큰 회수 시에는 Redis pub/sub 알림으로 즉시 제거된다
+// Redis 조회와 캐시 적재 사이에 회수 알림이 먼저 도착할 수 있으므로, 회수된 토큰은 활성화 유지 시간 동안 다시 적재하지 않는다
+// 만료된 토큰은 적재할 때마다 적재 순서의 맨 앞에서부터 만료된 만큼만 꺼내 정리한다 (유지 시간이 같아 적재 순서가 대체로 만료 순서)
+// 가득 차 있으면 전체를 훑지 않고 적재를 건너뛰어 Redis 조회로 처리한다
+@Slf4j
+@Component
+public class ActiveTokenCache implements MessageListener {
+
+    private final Map<UUID, Long> expiresAtByToken = new ConcurrentHashMap<>();
+
+    // 적재 순서대로의 토큰 ID와 만료 시각 (정리는 evictLock을 잡은 스레드 하나만)
+    private final Queue<CachedToken> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    // 회수된 토큰 ID -> 기억을 지울 시각
+    private final Map<UUID, Long> invalidatedUntil = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    @Autowired
+    public ActiveTokenCache(RedisMessageListenerContainer listenerContainer, @Value("${token.cache.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+        listenerContainer.addMessageListener(this, new ChannelTopic(TokenService.TOKEN_REVOKED_CHANNEL));
+    }
+
+    // 만료 전인 토큰이면 true
+    public boolean isActive(UUID tokenId) {
+        Long expiresAt = expiresAtByToken.get(tokenId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            expiresAtByToken.remove(tokenId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public void put(UUID tokenId, long expiresAt) {
+        evictExpired(System.currentTimeMillis());
+        // 만료된 토큰을 정리해도 가득 차 있으면 캐시하지 않고 Redis 조회로 처리
+        if (expiresAtByToken.size() >= maxSize) {
+            return;
+        }
+        expiresAtByToken.put(tokenId, expiresAt);
+        insertionOrder.add(new CachedToken(tokenId, expiresAt));
+        // 적재와 회수가 겹쳐도 둘 중 나중에 확인하는 쪽이 지운다 (회수는 기록 후 제거, 적재는 추가 후 확인)
+        if (isInvalidated(tokenId)) {
+            expiresAtByToken.remove(tokenId);
+        }
+    }
+
+    public void invalidate(UUID tokenId) {
+        long now = System.currentTimeMillis();
+        invalidatedUntil.values().removeIf(until -> until <= now);
+        invalidatedUntil.put(tokenId, now + TokenService.ACTIVE_TOKEN_TTL_MILLIS);
+        expiresAtByToken.remove(tokenId);
+    }
+
+    private boolean isInvalidated(UUID tokenId) {
+        Long until = invalidatedUntil.get(tokenId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return expiresAtByToken.size();
+    }
+
+    // 적재 순서의 맨 앞부터 만료된 토큰만 제거 (꺼낸 만큼만 일하므로 적재당 평균 O(1), 다른 스레드가 정리 중이면 건너뜀)
+    // 이미 회수/조회로 지워졌거나 다시 적재된 토큰은 만료 시각이 같을 때만 지운다
+    private void evictExpired(long now) {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            for (CachedToken head = insertionOrder.peek(); head != null && head.expiresAt() <= now; head = insertionOrder.peek()) {
+                insertionOrder.poll();
+                expiresAtByToken.remove(head.tokenId(), head.expiresAt());
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    // 토큰 회수 알림 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            invalidate(UUID.fromString(body));
+        } catch (IllegalArgumentException e) {
+            log.error("잘못된 토큰 회수 알림 : {}", body);
+        }
+    }
+
+    private record CachedToken(UUID tokenId, long expiresAt) {
+    }
+}
@@ -0,0 +1,184 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor;
+
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.IssuedTokenFilterDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.usecase.TokenUsecase;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 활성화된 토큰 ID 블룸 필터 (Redis 조회 전에 "활성화된 적 없는 토큰"을 서버 안에서 거른다)
+// 통과 시 발행되는 알림(pub/sub)으로 모든 서버에 추가되고, 구독할 때마다 Redis의 활성화 토큰으로 다시 채운다
+// 구독이 끊긴 동안의 알림은 유실되므로, 다시 구독한 뒤 Redis에서 채우기 전까지는 거르지 않고 Redis 조회로 넘긴다
+// 활성화 토큰은 유지 시간이 지나면 만료되므로 유지 시간마다 세대를 바꿔 (현재 + 직전 세대) 새 세대를 Redis에서 다시 채운다
+@Slf4j
+@Component
+public class IssuedTokenFilter implements MessageListener, SubscriptionListener {
+
+    private final boolean enabled;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+    private final long rotateMillis;
+    private final TokenUsecase tokenUsecase;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long rotateAt;
+
+    // 구독 후 Redis에서 다시 채우기를 마쳤으면 true (그 전에는 모든 토큰을 Redis 조회로 넘긴다)
+    private volatile boolean ready;
+    // 구독/구독 해제마다 증가 (채우는 도중 구독이 바뀌면 그 결과로 ready를 켜지 않는다)
+    private final AtomicLong subscriptionEpoch = new AtomicLong();
+    private volatile boolean subscribed;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "issued-token-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong passed = new AtomicLong();
+
+    @Autowired
+    public IssuedTokenFilter(RedisMessageListenerContainer listenerContainer,
+                             TokenUsecase tokenUsecase,
+                             @Value("${token.filter.enabled:true}") boolean enabled,
+                             @Value("${token.filter.expected-tokens:1000000}") long expectedTokens,
+                             @Value("${token.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this(tokenUsecase, enabled, expectedTokens, falsePositiveRate, TokenService.ACTIVE_TOKEN_TTL_MILLIS);
+        // 구독 확인 후 Redis에서 채울 때까지 거르지 않음
+        this.ready = false;
+        listenerContainer.addMessageListener(this, new ChannelTopic(TokenService.TOKEN_ADMITTED_CHANNEL));
+    }
+
+    // 세대 교체 주기를 직접 지정 (테스트용, 구독 없이 바로 거른다)
+    public IssuedTokenFilter(TokenUsecase tokenUsecase, boolean enabled, long expectedTokens, double falsePositiveRate, long rotateMillis) {
+        this.tokenUsecase = tokenUsecase;
+        this.enabled = enabled;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rotateMillis = rotateMillis;
+        this.current = new BloomFilter(expectedTokens, falsePositiveRate);
+        this.previous = new BloomFilter(expectedTokens, falsePositiveRate);
+        this.rotateAt = System.currentTimeMillis() + rotateMillis;
+        this.ready = true;
+    }
+
+    // false면 활성화된 적 없는 토큰 (true는 활성화 토큰이거나 오탐)
+    public boolean mightBeActive(UUID tokenId) {
+        if (!enabled) {
+            return true;
+        }
+        rotateIfDue();
+        if (!ready) {
+            passed.incrementAndGet();
+            return true;
+        }
+        if (current.mightContain(tokenId) || previous.mightContain(tokenId)) {
+            passed.incrementAndGet();
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void put(UUID tokenId) {
+        rotateIfDue();
+        current.put(tokenId);
+    }
+
+    public IssuedTokenFilterDTO stats() {
+        BloomFilter currentFilter = current;
+        BloomFilter previousFilter = previous;
+        // 두 세대 중 하나라도 오탐하면 통과하므로 1 - (1 - p1)(1 - p2)
+        double rate = 1 - (1 - currentFilter.expectedFalsePositiveRate()) * (1 - previousFilter.expectedFalsePositiveRate());
+        return new IssuedTokenFilterDTO(enabled, ready,
+                currentFilter.insertions() + previousFilter.insertions(),
+                currentFilter.memoryBytes() + previousFilter.memoryBytes(),
+                rate, rejected.get(), passed.get());
+    }
+
+    // 세대를 바꾸고 새 세대를 Redis의 활성화 토큰으로 채움
+    // 채우는 동안에도 직전 세대가 교체 전까지의 토큰을 모두 담고 있어 거짓 거부가 없다
+    private void rotateIfDue() {
+        if (System.currentTimeMillis() < rotateAt) {
+            return;
+        }
+        BloomFilter fresh;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now < rotateAt) {
+                return;
+            }
+            fresh = new BloomFilter(expectedTokens, falsePositiveRate);
+            previous = current;
+            current = fresh;
+            rotateAt = now + rotateMillis;
+        }
+        rebuildExecutor.execute(() -> rebuild(fresh));
+    }
+
+    // 구독(재구독 포함) 확인 시 구독 전에 놓친 알림을 Redis에서 채운 뒤 거르기 시작
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (!enabled) {
+            return;
+        }
+        subscriptionEpoch.incrementAndGet();
+        subscribed = true;
+        ready = false;
+        BloomFilter filter = current;
+        rebuildExecutor.execute(() -> rebuild(filter));
+    }
+
+    // 구독이 끊기면 그동안의 알림을 받지 못하므로 다시 채울 때까지 거르지 않음
+    @Override
+    public void onChannelUnsubscribed(byte[] channel, long count) {
+        subscriptionEpoch.incrementAndGet();
+        subscribed = false;
+        ready = false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // 현재 세대를 Redis의 활성화 토큰으로 채우고, 그동안 구독이 유지됐으면 거르기 시작 (실패하면 다음 세대 교체 때 다시 시도)
+    private void rebuild(BloomFilter filter) {
+        long epoch = subscriptionEpoch.get();
+        try {
+            tokenUsecase.findActiveTokenIdsWithRedis().forEach(filter::put);
+        } catch (Exception e) {
+            log.warn("활성화 토큰 필터 적재 실패: {}", e.getMessage());
+            return;
+        }
+        if (!ready && subscribed && subscriptionEpoch.get() == epoch && filter == current) {
+            ready = true;
+            log.info("[활성화 토큰 필터 적재] {}건", filter.insertions());
+        }
+    }
+
+    // 통과 알림 수신 (토큰 ID 16바이트씩 이어 붙인 값)
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        ByteBuffer buffer = ByteBuffer.wrap(message.getBody());
+        while (buffer.remaining() >= 16) {
+            put(new UUID(buffer.getLong(), buffer.getLong()));
+        }
+    }
+}
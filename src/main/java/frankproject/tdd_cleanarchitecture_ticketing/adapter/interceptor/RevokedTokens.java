@@ -0,0 +1,76 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor;
+
+import frankproject.tdd_cleanarchitecture_ticketing.application.usecase.TokenUsecase;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 만료 전에 회수된 토큰 ID (서명된 접근 토큰은 만료 시각까지 스스로 유효하므로 회수분만 따로 거른다)
+// 회수 알림(pub/sub)으로 모든 서버에 복제되고, 기동 시 Redis에 남은 최근 회수 목록을 읽어 온다
+// 접근 토큰 유지 시간이 지나면 어차피 만료되므로 그 이후에는 목록에서 지운다
+@Slf4j
+@Component
+public class RevokedTokens implements MessageListener {
+
+    private final Map<UUID, Long> forgetAtByToken = new ConcurrentHashMap<>();
+
+    private final TokenUsecase tokenUsecase;
+
+    @Autowired
+    public RevokedTokens(RedisMessageListenerContainer listenerContainer, TokenUsecase tokenUsecase) {
+        this.tokenUsecase = tokenUsecase;
+        listenerContainer.addMessageListener(this, new ChannelTopic(TokenService.TOKEN_REVOKED_CHANNEL));
+    }
+
+    public boolean contains(UUID tokenId) {
+        Long forgetAt = forgetAtByToken.get(tokenId);
+        if (forgetAt == null) {
+            return false;
+        }
+        if (forgetAt <= System.currentTimeMillis()) {
+            forgetAtByToken.remove(tokenId, forgetAt);
+            return false;
+        }
+        return true;
+    }
+
+    public void add(UUID tokenId, long revokedAt) {
+        long now = System.currentTimeMillis();
+        forgetAtByToken.values().removeIf(forgetAt -> forgetAt <= now);
+        forgetAtByToken.put(tokenId, revokedAt + TokenService.ACTIVE_TOKEN_TTL_MILLIS);
+    }
+
+    public int size() {
+        return forgetAtByToken.size();
+    }
+
+    // 기동 전에 회수된 토큰 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentlyRevoked() {
+        tokenUsecase.findRecentlyRevokedTokensWithRedis().forEach(this::add);
+        log.info("[토큰 회수 목록 적재] {}건", forgetAtByToken.size());
+    }
+
+    // 토큰 회수 알림 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            add(UUID.fromString(body), System.currentTimeMillis());
+        } catch (IllegalArgumentException e) {
+            log.error("잘못된 토큰 회수 알림 : {}", body);
+        }
+    }
+}
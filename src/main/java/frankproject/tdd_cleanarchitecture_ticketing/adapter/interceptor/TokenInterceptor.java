@@ -1,10 +1,13 @@
 package frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor;
 
 import frankproject.tdd_cleanarchitecture_ticketing.application.usecase.TokenUsecase;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.AccessTokenClaims;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.AccessTokenSigner;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
@@ -17,9 +20,26 @@ public class TokenInterceptor implements HandlerInterceptor {
 
     private final TokenUsecase tokenUsecase;
 
+    private final ActiveTokenCache activeTokenCache;
+
+    private final AccessTokenSigner accessTokenSigner;
+
+    private final RevokedTokens revokedTokens;
+
+    private final IssuedTokenFilter issuedTokenFilter;
+
+    // 접근 토큰을 발급한 서버와 이 서버의 시계 차이 허용 범위
+    private final long clockSkewMillis;
+
     @Autowired
-    public TokenInterceptor(TokenUsecase tokenUsecase) {
+    public TokenInterceptor(TokenUsecase tokenUsecase, ActiveTokenCache activeTokenCache, AccessTokenSigner accessTokenSigner, RevokedTokens revokedTokens, IssuedTokenFilter issuedTokenFilter,
+                            @Value("${token.signing.clock-skew-millis:2000}") long clockSkewMillis) {
         this.tokenUsecase = tokenUsecase;
+        this.activeTokenCache = activeTokenCache;
+        this.accessTokenSigner = accessTokenSigner;
+        this.revokedTokens = revokedTokens;
+        this.issuedTokenFilter = issuedTokenFilter;
+        this.clockSkewMillis = clockSkewMillis;
     }
 
     @Override
@@ -34,6 +54,16 @@ public class TokenInterceptor implements HandlerInterceptor {
             return false;
         }
 
+        // 서명된 접근 토큰이면 서명, 유효 기간, 회수 여부만 서버 안에서 확인 (네트워크 호출 없음)
+        if (tokenHeader.indexOf('.') > 0) {
+            AccessTokenClaims claims = accessTokenSigner.verify(tokenHeader);
+            if (claims == null || !claims.isValidAt(System.currentTimeMillis(), clockSkewMillis) || revokedTokens.contains(claims.getTokenId())) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return false;
+            }
+            return true;
+        }
+
         UUID token;
 
         try {
@@ -45,11 +75,24 @@ public class TokenInterceptor implements HandlerInterceptor {
             return false;
         }
 
+        // 로컬 캐시에 있는 활성화 토큰이면 Redis 조회 없이 통과
+        if (activeTokenCache.isActive(token)) {
+            return true;
+        }
+
+        // 활성화된 적 없는 토큰(임의로 만든 UUID 등)은 Redis 조회 없이 거부
+        if (!issuedTokenFilter.mightBeActive(token)) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return false;
+        }
+
         // 유효한 토큰인지 확인
-        if (!tokenUsecase.isActiveTokenWithRedis(token)) {
+        long expiresAt = tokenUsecase.findActiveTokenExpiresAtWithRedis(token);
+        if (expiresAt <= 0) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return false;
         }
+        activeTokenCache.put(token, expiresAt);
 
         return true;
     }
@@ -6,4 +6,6 @@ import lombok.Data;
 public class TokenRequest {
     private long customerId;
     private long concertId;
+    // 대기열 차선 (0: 일반, 생략 시 0)
+    private int lane;
 }
\ No newline at end of file
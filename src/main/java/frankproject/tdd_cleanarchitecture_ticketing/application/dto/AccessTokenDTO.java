@@ -0,0 +1,17 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 대기열 통과 후 발급하는 서명된 접근 토큰 (Authorization 헤더에 그대로 사용)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessTokenDTO {
+
+    private String accessToken;
+    private long expiresAt;
+}
@@ -0,0 +1,30 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 최대 활성화 인원 자동 조절 결과와 판단 근거
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionDecisionDTO {
+
+    private LocalDateTime decidedAt;
+    private int previousActiveSize;
+    private int activeSize;
+    // INCREASE(여유) HOLD(상한 도달) DECREASE_LATENCY DECREASE_CONFLICT DECREASE_POOL (과부하 원인)
+    private String reason;
+    // 백분위를 계산한 리더 서버의 표본 수 / 판단에 쓴 클러스터 전체 예약 요청 수
+    private int samples;
+    private long requests;
+    private long p50Millis;
+    private long p95Millis;
+    private long p99Millis;
+    private double optimisticFailureRate;
+    private double poolSaturation;
+}
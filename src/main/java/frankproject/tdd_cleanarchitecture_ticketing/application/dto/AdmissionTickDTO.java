@@ -0,0 +1,24 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 대기열 통과 스케줄러 한 주기의 처리 결과
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionTickDTO {
+
+    private LocalDateTime startedAt;
+    private long elapsedMicros;
+    // 처리한 콘서트 수 / 대기열이 비어 건너뛴 콘서트 수
+    private int processedConcerts;
+    private int skippedConcerts;
+    private long expired;
+    private long admitted;
+}
@@ -0,0 +1,22 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+// 하트비트가 끊겨 통과 전에 제거한 대기자 현황 (제거한 인원만큼 활성화 슬롯을 아낌)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeartbeatEvictionDTO {
+
+    private boolean enabled;
+    private long timeoutMillis;
+    private long totalEvicted;
+    // 콘서트 ID -> 누적 제거 인원
+    private Map<Long, Long> evictedByConcert;
+}
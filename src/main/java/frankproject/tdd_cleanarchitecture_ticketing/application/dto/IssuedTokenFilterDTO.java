@@ -0,0 +1,25 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 활성화 토큰 사전 필터 현황 (두 세대 합계)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuedTokenFilterDTO {
+
+    private boolean enabled;
+    // 구독 후 Redis에서 다시 채우기를 마쳐 거르는 중이면 true (false면 모든 토큰을 Redis로 확인)
+    private boolean ready;
+    private long insertions;
+    private long memoryBytes;
+    // 현재 채워진 정도로 계산한 예상 오탐률 (발급되지 않은 토큰이 통과해 Redis까지 갈 확률)
+    private double expectedFalsePositiveRate;
+    // Redis 조회 없이 거부한 요청 수 / 필터를 통과해 Redis로 확인한 요청 수
+    private long rejected;
+    private long passed;
+}
@@ -0,0 +1,19 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueStatusDTO {
+
+    private long customerId;
+    private long concertId;
+    // 본인 앞의 대기 순번 (ACTIVE면 0)
+    private long waitNumber;
+    private String status;
+}
@@ -0,0 +1,195 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.schedule;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.AdmissionDecisionDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission.AdmissionSignalStore;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission.AdmissionSignals;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+// 예약 처리 상태를 보고 최대 활성화 인원을 조절 (AIMD)
+// 예약 응답 p95, 낙관적 락 충돌 비율, 커넥션 풀 사용률 중 하나라도 기준을 넘으면 비율로 줄이고,
+// 모두 여유가 있으면 조금씩 늘린다. 판단은 decision-interval-millis마다 한 번, 그 사이 표본으로 한다
+// 예약 요청은 모든 서버에 들어오므로 서버마다 모은 건수를 저장소에 더하고, 리더가 판단할 때 클러스터 전체 합으로 판단한다
+// 조절 값은 전체 콘서트가 나눠 쓰는 활성화 인원이므로, 콘서트마다 대기/활성화 토큰이 있는 콘서트 수로 나눈 몫까지만 허용한다
+@Slf4j
+@Component
+public class AdmissionLimiter {
+
+    private final AdmissionLimiterProperties properties;
+
+    private final DoubleSupplier poolSaturation;
+
+    private final AdmissionSignalStore signalStore;
+
+    // 판단 주기 동안 이 서버의 예약 응답 시간(ns) (판단 결과의 백분위 표시용, 표본이 가득 차면 이후 요청은 건수만 센다)
+    private final long[] latencies;
+    private int sampled;
+    // 마지막으로 저장소에 더한 뒤의 요청 수, 충돌 수, 응답이 목표 p95를 넘은 요청 수
+    private long requests;
+    private long optimisticFailures;
+    private long slowRequests;
+
+    private volatile int activeSize;
+    private volatile AdmissionDecisionDTO lastDecision;
+    private volatile long lastDecidedAt;
+
+    @Autowired
+    public AdmissionLimiter(AdmissionLimiterProperties properties, DataSource dataSource, AdmissionSignalStore signalStore) {
+        this(properties, () -> poolSaturationOf(dataSource), signalStore);
+    }
+
+    public AdmissionLimiter(AdmissionLimiterProperties properties, DoubleSupplier poolSaturation, AdmissionSignalStore signalStore) {
+        this.properties = properties;
+        this.poolSaturation = poolSaturation;
+        this.signalStore = signalStore;
+        this.latencies = new long[properties.getSampleWindowSize()];
+        this.activeSize = clamp(properties.getInitialActiveSize());
+        this.lastDecidedAt = System.currentTimeMillis();
+    }
+
+    // 예약 요청 한 건의 결과 기록
+    public synchronized void recordReservation(long elapsedNanos, boolean optimisticFailure) {
+        requests++;
+        if (optimisticFailure) {
+            optimisticFailures++;
+        }
+        if (elapsedNanos > TimeUnit.MILLISECONDS.toNanos(properties.getTargetP95Millis())) {
+            slowRequests++;
+        }
+        if (sampled < latencies.length) {
+            latencies[sampled++] = elapsedNanos;
+        }
+    }
+
+    // 콘서트에 설정된 최대 활성화 인원을 현재 조절 값을 대기/활성화 토큰이 있는 콘서트 수로 나눈 몫으로 제한
+    public int limit(int configuredActiveSize, int liveConcerts) {
+        if (!properties.isEnabled()) {
+            return configuredActiveSize;
+        }
+        decideIfDue();
+        return Math.min(configuredActiveSize, Math.max(1, activeSize / Math.max(1, liveConcerts)));
+    }
+
+    // 이 서버가 모은 신호를 저장소에 더함 (모든 서버가 판단 주기마다, 리더는 판단 직전에도)
+    @Scheduled(fixedDelayString = "${token.admission.decision-interval-millis:1000}")
+    public void flush() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AdmissionSignals signals;
+        synchronized (this) {
+            signals = new AdmissionSignals(requests, optimisticFailures, slowRequests, poolSaturation.getAsDouble());
+            requests = 0;
+            optimisticFailures = 0;
+            slowRequests = 0;
+        }
+        signalStore.add(signals);
+    }
+
+    public int getActiveSize() {
+        return activeSize;
+    }
+
+    // 마지막 판단 결과 (아직 판단 전이면 null)
+    public AdmissionDecisionDTO getLastDecision() {
+        return lastDecision;
+    }
+
+    private void decideIfDue() {
+        if (System.currentTimeMillis() - lastDecidedAt >= properties.getDecisionIntervalMillis()) {
+            decide();
+        }
+    }
+
+    // 스케줄러 스레드에서만 호출 (저장소 호출 동안 예약 요청 기록을 막지 않도록 표본만 잠금 안에서 꺼낸다)
+    AdmissionDecisionDTO decide() {
+        long[] window;
+        synchronized (this) {
+            window = Arrays.copyOf(latencies, sampled);
+            sampled = 0;
+        }
+        Arrays.sort(window);
+        flush();
+        AdmissionSignals signals = signalStore.take();
+        long total = signals.requests();
+        double failureRate = total == 0 ? 0.0 : (double) signals.optimisticFailures() / total;
+        double saturation = signals.poolSaturation();
+        // 응답이 목표를 넘은 요청이 5%를 넘으면 p95가 목표를 넘은 것 (건수라 서버끼리 더해도 정확하다)
+        boolean slow = signals.slowRequests() > total - (long) Math.ceil(0.95 * total);
+
+        long p50 = percentileMillis(window, 0.50);
+        long p95 = percentileMillis(window, 0.95);
+        long p99 = percentileMillis(window, 0.99);
+
+        String reason;
+        int previous = activeSize;
+        int next;
+        if (saturation > properties.getMaxPoolSaturation()) {
+            reason = "DECREASE_POOL";
+            next = decrease(previous);
+        } else if (total >= properties.getMinSamples() && failureRate > properties.getMaxOptimisticFailureRate()) {
+            reason = "DECREASE_CONFLICT";
+            next = decrease(previous);
+        } else if (total >= properties.getMinSamples() && slow) {
+            reason = "DECREASE_LATENCY";
+            next = decrease(previous);
+        } else if (previous < properties.getMaxActiveSize()) {
+            // 과부하 신호가 없으면 표본이 적더라도(들어온 인원이 아직 예약 전이라도) 천천히 늘린다
+            reason = "INCREASE";
+            next = clamp(previous + properties.getIncreaseStep());
+        } else {
+            reason = "HOLD";
+            next = previous;
+        }
+
+        activeSize = next;
+        lastDecidedAt = System.currentTimeMillis();
+
+        AdmissionDecisionDTO decision = new AdmissionDecisionDTO(LocalDateTime.now(), previous, next, reason,
+                window.length, total, p50, p95, p99, failureRate, saturation);
+        lastDecision = decision;
+        if (next != previous) {
+            log.info("[활성화 인원 조절] {} -> {} ({}), p95 {}ms, 충돌 {}, 풀 {}",
+                    previous, next, reason, p95, String.format("%.3f", failureRate), String.format("%.2f", saturation));
+        }
+        return decision;
+    }
+
+    private int decrease(int current) {
+        return clamp((int) (current * properties.getDecreaseFactor()));
+    }
+
+    private int clamp(int size) {
+        return Math.max(properties.getMinActiveSize(), Math.min(properties.getMaxActiveSize(), size));
+    }
+
+    private static long percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000;
+    }
+
+    // 사용 중인 커넥션과 커넥션을 기다리는 스레드를 풀 크기로 나눈 값 (1 이상이면 대기 발생)
+    private static double poolSaturationOf(DataSource dataSource) {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return 0.0;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null || hikari.getMaximumPoolSize() <= 0) {
+            return 0.0;
+        }
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection()) / hikari.getMaximumPoolSize();
+    }
+}
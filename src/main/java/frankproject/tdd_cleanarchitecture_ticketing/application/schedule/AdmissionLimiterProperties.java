@@ -0,0 +1,43 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.schedule;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+// 예약 처리 상태에 따른 최대 활성화 인원 자동 조절 설정
+// token.admission.enabled=true
+// token.admission.min-active-size=100
+// token.admission.max-active-size=30000
+// token.admission.target-p95-millis=200
+// token.admission.max-optimistic-failure-rate=0.2
+// token.admission.max-pool-saturation=0.9
+// 서버별 신호를 합치는 저장소는 token.admission.signal-store=redis(기본) | memory 로 선택
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "token.admission")
+public class AdmissionLimiterProperties {
+
+    // false면 token.schedule의 고정 활성화 인원을 그대로 사용
+    private boolean enabled = false;
+
+    // 조절 범위와 시작 값
+    private int minActiveSize = 100;
+    private int maxActiveSize = 30000;
+    private int initialActiveSize = 1000;
+
+    // 여유가 있을 때 한 번에 늘리는 인원 / 과부하일 때 곱하는 비율
+    private int increaseStep = 200;
+    private double decreaseFactor = 0.7;
+
+    // 과부하 판단 기준 (예약 응답 p95, 낙관적 락 충돌 비율, 커넥션 풀 사용률)
+    private long targetP95Millis = 200;
+    private double maxOptimisticFailureRate = 0.2;
+    private double maxPoolSaturation = 0.9;
+
+    // 판단 주기와 주기당 최대 표본 수, 지연 시간을 믿을 수 있는 최소 표본 수
+    private long decisionIntervalMillis = 1000;
+    private int sampleWindowSize = 2048;
+    private int minSamples = 30;
+}
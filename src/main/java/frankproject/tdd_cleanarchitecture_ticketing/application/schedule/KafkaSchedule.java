@@ -22,6 +22,10 @@ import java.util.List;
 @EnableScheduling
 public class KafkaSchedule {
 
+    private static final String OUTBOX_JOB = "payment-outbox-relay";
+    // 실행 주기(30초)보다 길게 잡아 리더가 살아 있는 동안 다른 서버가 임대를 가져가지 못하게 한다
+    private static final long OUTBOX_LEASE_TTL_MILLIS = 60000;
+
     @Autowired
     private PaymentOutboxRepository paymentOutboxRepository;
 
@@ -31,8 +35,15 @@ public class KafkaSchedule {
     @Autowired
     private PaymentMessagePublisher paymentKafkaMessageProducer;
 
+    @Autowired
+    private SchedulerLease schedulerLease;
+
     @Scheduled(fixedRate = 30000)
     public void reProduceKafka() {
+        // 리더 서버만 INIT 메시지를 재발행 (서버 수만큼 중복 발행되지 않도록)
+        if(!schedulerLease.isLeader(OUTBOX_JOB, OUTBOX_LEASE_TTL_MILLIS)) {
+            return;
+        }
         log.info("Kafka 발행 재수행 이벤트 처리를 시작합니다.");
         List<PaymentOutbox> outboxList = paymentOutboxRepository.findAllByStatus("INIT");
         int num = 0;
@@ -0,0 +1,68 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.schedule;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.lease.LeaseLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 스케줄 작업별 리더 선출
+// 임대를 가진 서버만 작업을 수행하고, 리더가 죽으면 유지 시간이 지난 뒤 다른 서버가 임대를 가져간다
+@Slf4j
+@Component
+public class SchedulerLease {
+
+    private final LeaseLock leaseLock;
+
+    private final String instanceId;
+
+    // 작업명 -> 이 서버가 임대를 확실히 가지고 있는 시각 (저장소 호출 전 시각 + 유지 시간)
+    private final Map<String, Long> heldUntil = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SchedulerLease(LeaseLock leaseLock) {
+        this(leaseLock, UUID.randomUUID().toString());
+    }
+
+    public SchedulerLease(LeaseLock leaseLock, String instanceId) {
+        this.leaseLock = leaseLock;
+        this.instanceId = instanceId;
+    }
+
+    // 작업의 리더면 true (리더는 유지 시간의 1/3이 지날 때마다 임대를 연장한다)
+    public boolean isLeader(String job, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Long until = heldUntil.get(job);
+        if (until != null && now < until - ttlMillis * 2 / 3) {
+            return true;
+        }
+
+        if (leaseLock.tryAcquire(job, instanceId, ttlMillis)) {
+            if (until == null) {
+                log.info("[리더 선출] 작업: {}, 서버: {}", job, instanceId);
+            }
+            heldUntil.put(job, now + ttlMillis);
+            return true;
+        }
+
+        if (until != null) {
+            log.info("[리더 상실] 작업: {}, 서버: {}", job, instanceId);
+        }
+        heldUntil.remove(job);
+        return false;
+    }
+
+    // 종료 시 임대를 바로 반납해 다른 서버가 유지 시간을 기다리지 않고 이어받게 한다
+    public void release(String job) {
+        if (heldUntil.remove(job) != null) {
+            leaseLock.release(job, instanceId);
+        }
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+}
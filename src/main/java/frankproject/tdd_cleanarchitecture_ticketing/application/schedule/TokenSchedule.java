@@ -1,23 +1,204 @@
 package frankproject.tdd_cleanarchitecture_ticketing.application.schedule;
 
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.AdmissionTickDTO;
 import frankproject.tdd_cleanarchitecture_ticketing.application.usecase.TokenUsecase;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.event.QueueChangedEvent;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.event.TokensAdmittedEvent;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// 대기열 통과 스케줄러
+// 참가/회수 요청이 들어온 콘서트(token.queue.events.relay=redis면 Redis에 모아 두어 어느 서버의 요청이든 리더가 처리)와 통과시킨 토큰의 만료 시각이 된 콘서트만 즉시 처리하고,
+// 이벤트가 계속 들어와도 max-interval-millis마다 대기/활성화 토큰이 있는 콘서트 전체를 점검한다 (concert 테이블 크기와 무관)
+// 여러 서버 중 통과 작업 임대를 가진 리더 한 대만 처리한다
+@Slf4j
 @Component
-@EnableScheduling
-public class TokenSchedule {
+public class TokenSchedule implements SmartLifecycle {
+
+    static final String ADMISSION_JOB = "token-admission";
+
+    // 한 주기에 Redis에서 꺼내는 처리 대기 콘서트 수
+    private static final int CHANGED_CONCERTS_BATCH = 10000;
 
     @Autowired
     private TokenUsecase tokenUsecase;
 
-    @Scheduled(fixedDelay = 10)
-    public void manageTokens(){
+    @Autowired
+    private TokenScheduleProperties tokenScheduleProperties;
+
+    @Autowired
+    private SchedulerLease schedulerLease;
+
+    @Autowired
+    private AdmissionLimiter admissionLimiter;
+
+    // 처리가 필요한 콘서트 ID
+    private final Set<Long> changedConcerts = ConcurrentHashMap.newKeySet();
+    // 통과시킨 토큰의 만료 시각과 콘서트 ID (유지 시간이 같으므로 만료 시각 순으로 쌓인다)
+    private final Queue<long[]> expiryDue = new ConcurrentLinkedQueue<>();
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    private volatile boolean running = false;
+    private volatile AdmissionTickDTO lastTick;
+    private long lastFullSweepAt = 0;
+    // 마지막 전체 점검 때 대기/활성화 토큰이 있던 콘서트 수 (자동 조절 인원을 나누는 기준)
+    private volatile int liveConcerts = 1;
+    private Thread worker;
+
+    // 대기열 참가, 토큰 회수 시 해당 콘서트 처리 요청 (다른 서버의 요청도 Redis 알림으로 들어온다)
+    @EventListener
+    public void onQueueChanged(QueueChangedEvent event) {
+        changedConcerts.add(event.getConcertId());
+        if (wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    // 통과시킨 토큰이 만료될 때 해당 콘서트를 다시 처리하도록 예약
+    @EventListener
+    public void onTokensAdmitted(TokensAdmittedEvent event) {
+        if (event.getAdmittedCount() <= 0) {
+            return;
+        }
+        expiryDue.add(new long[]{System.currentTimeMillis() + tokenUsecase.activeTtlMillis(), event.getConcertId()});
+    }
+
+    public void manageTokens() throws InterruptedException {
+
+        long maxIntervalMillis = tokenScheduleProperties.getMaxIntervalMillis();
+        long now = System.currentTimeMillis();
+        // 다음 전체 점검 시각과 가장 이른 만료 시각 중 먼저 오는 때까지 대기
+        long wakeAt = lastFullSweepAt + maxIntervalMillis;
+        long[] earliest = expiryDue.peek();
+        if (earliest != null) {
+            wakeAt = Math.min(wakeAt, earliest[0]);
+        }
+        wakeUp.tryAcquire(Math.max(0, wakeAt - now), TimeUnit.MILLISECONDS);
+        wakeUp.drainPermits();
+
+        // 리더가 아니면 이벤트는 버리고 max-interval-millis마다 한 번씩만 임대 획득을 다시 시도
+        if (!schedulerLease.isLeader(ADMISSION_JOB, tokenScheduleProperties.getLeaseTtlMillis())) {
+            changedConcerts.clear();
+            expiryDue.clear();
+            lastFullSweepAt = 0;
+            TimeUnit.MILLISECONDS.sleep(maxIntervalMillis);
+            return;
+        }
+
+        now = System.currentTimeMillis();
+        AdmissionTickDTO tick = null;
+        if (now - lastFullSweepAt >= maxIntervalMillis) {
+            // 이벤트로 깨어난 주기만 이어져도 전체 점검이 밀리지 않도록 간격이 차면 전체 점검
+            changedConcerts.clear();
+            takeChangedConcerts();
+            pollExpiryDue(now);
+            lastFullSweepAt = now;
+            Collection<Long> liveConcertIds = tokenUsecase.findLiveConcertIds();
+            liveConcerts = Math.max(1, liveConcertIds.size());
+            tick = tokenUsecase.manageQueue(liveConcertIds, this::activeSizeOf);
+        } else {
+            Set<Long> concertIds = new LinkedHashSet<>(changedConcerts);
+            changedConcerts.removeAll(concertIds);
+            concertIds.addAll(takeChangedConcerts());
+            concertIds.addAll(pollExpiryDue(now));
+            if (!concertIds.isEmpty()) {
+                tick = tokenUsecase.manageQueue(concertIds, this::activeSizeOf);
+            }
+        }
+        if (tick != null) {
+            lastTick = tick;
+            log.debug("[대기열 통과] {}us, 처리 {}개, 건너뜀 {}개, 만료 {}건, 활성화 {}건",
+                    tick.getElapsedMicros(), tick.getProcessedConcerts(), tick.getSkippedConcerts(), tick.getExpired(), tick.getAdmitted());
+        }
+
+        // 참가가 몰릴 때 너무 자주 돌지 않도록 최소 간격 유지
+        TimeUnit.MILLISECONDS.sleep(tokenScheduleProperties.getMinIntervalMillis());
+    }
+
+    // 처리 대기 콘서트 ID를 대기열 알림 중계에서 꺼냄 (Redis로 중계하면 모든 서버가 남긴 ID, 다 꺼내지 못하면 다음 주기에 바로 이어서)
+    private List<Long> takeChangedConcerts() {
+        List<Long> concertIds = tokenUsecase.takeChangedConcerts(CHANGED_CONCERTS_BATCH);
+        if (concertIds.size() >= CHANGED_CONCERTS_BATCH && wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+        return concertIds;
+    }
+
+    // 만료 시각이 된 콘서트 ID를 꺼냄
+    private List<Long> pollExpiryDue(long now) {
+        List<Long> concertIds = new ArrayList<>();
+        for (long[] due = expiryDue.peek(); due != null && due[0] <= now; due = expiryDue.peek()) {
+            expiryDue.poll();
+            concertIds.add(due[1]);
+        }
+        return concertIds;
+    }
+
+    // 콘서트별 설정 인원을 예약 처리 상태에 따른 조절 값의 콘서트당 몫으로 제한
+    private int activeSizeOf(long concertId) {
+        return admissionLimiter.limit(tokenScheduleProperties.activeSizeOf(concertId), liveConcerts);
+    }
+
+    // 마지막 주기 처리 결과
+    public AdmissionTickDTO getLastTick() {
+        return lastTick;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(() -> {
+            while (running) {
+                try {
+                    manageTokens();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.error("대기열 통과 처리 실패: {}", e.getMessage());
+                }
+            }
+        }, ADMISSION_JOB);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+        schedulerLease.release(ADMISSION_JOB);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 이전 형식(JSON)의 레디스 대기열 멤버 변환
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyRedisTokens(){
 
-        int size = 30000;
-        tokenUsecase.manageTokens(size);
+        if(tokenScheduleProperties.isMigrateLegacyMembers()) {
+            tokenUsecase.migrateLegacyRedisTokens();
+        }
     }
 
 }
@@ -0,0 +1,49 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.schedule;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 토큰 스케줄러 설정
+// token.schedule.default-active-size=30000
+// token.schedule.active-size.{concertId}=5000
+// token.schedule.max-interval-millis=1000
+// token.schedule.min-interval-millis=10
+// token.schedule.migrate-legacy-members=true
+// token.schedule.lease-ttl-millis=3000
+// 대기열 엔진은 token.queue.engine=jpa(기본) | redis | memory 로 선택
+// 대기열 알림은 token.queue.events.relay=local(기본) | redis 로 선택 (여러 서버면 redis)
+// 리더 임대 저장소는 scheduler.lease.store=redis(기본) | memory 로 선택
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "token.schedule")
+public class TokenScheduleProperties {
+
+    // 별도 설정이 없는 콘서트의 최대 활성화 인원
+    private int defaultActiveSize = 30000;
+
+    // 콘서트 ID별 최대 활성화 인원
+    private Map<Long, Integer> activeSize = new HashMap<>();
+
+    // 이벤트 유무와 관계없이 전체 콘서트를 점검하는 간격
+    // 리더가 통과시킨 토큰은 만료 시각에 맞춰 깨어나 처리하고, 리더 교체 전에 통과한 토큰 등은 이 간격 안에 정리된다
+    private long maxIntervalMillis = 1000;
+
+    // 연속 처리 사이의 최소 간격
+    private long minIntervalMillis = 10;
+
+    // 기동 시 JSON 형식의 레디스 대기열 멤버를 바이너리 형식으로 변환할지 여부
+    private boolean migrateLegacyMembers = false;
+
+    // 통과 작업 리더 임대 유지 시간 (리더 장애 시 다른 서버가 이어받기까지의 최대 지연)
+    private long leaseTtlMillis = 3000;
+
+    public int activeSizeOf(long concertId) {
+        return activeSize.getOrDefault(concertId, defaultActiveSize);
+    }
+}
@@ -2,6 +2,7 @@ package frankproject.tdd_cleanarchitecture_ticketing.application.usecase;
 
 import frankproject.tdd_cleanarchitecture_ticketing.application.dto.PaymentDTO;
 import frankproject.tdd_cleanarchitecture_ticketing.application.dto.ReservationDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.schedule.AdmissionLimiter;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Customer;
@@ -13,6 +14,7 @@ import frankproject.tdd_cleanarchitecture_ticketing.domain.service.payment.Payme
 import frankproject.tdd_cleanarchitecture_ticketing.domain.service.ReservationService;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.service.SeatService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -25,12 +27,14 @@ public class ReservationUsecase {
     private final ReservationService reservationService;
     private final PaymentService paymentService;
     private final CustomerService customerService;
+    private final AdmissionLimiter admissionLimiter;
 
-    public ReservationUsecase(SeatService seatService, ReservationService reservationService, PaymentService paymentService, CustomerService customerService) {
+    public ReservationUsecase(SeatService seatService, ReservationService reservationService, PaymentService paymentService, CustomerService customerService, AdmissionLimiter admissionLimiter) {
         this.seatService = seatService;
         this.reservationService = reservationService;
         this.paymentService = paymentService;
         this.customerService = customerService;
+        this.admissionLimiter = admissionLimiter;
     }
 
     /**
@@ -40,7 +44,16 @@ public class ReservationUsecase {
      */
     public ReservationDTO createReservationWithOptimistic(long seatId, long customerId) {
         log.info("{}>> [UseCase] createReservationWithOptimistic 시작, 예약ID: {}", Thread.currentThread().getName(), customerId);
-        Seat seat = seatService.reserveSeatWithOptimistic(seatId, customerId);
+        // 응답 시간과 낙관적 락 충돌 여부를 활성화 인원 조절에 반영
+        long startedNanos = System.nanoTime();
+        Seat seat;
+        try {
+            seat = seatService.reserveSeatWithOptimistic(seatId, customerId);
+        } catch (OptimisticLockingFailureException e) {
+            admissionLimiter.recordReservation(System.nanoTime() - startedNanos, true);
+            throw e;
+        }
+        admissionLimiter.recordReservation(System.nanoTime() - startedNanos, false);
         log.info("{}>> [Optimistic Lock] createReservationWithOptimistic 완료, 예약ID: {}", Thread.currentThread().getName(), customerId);
         Reservation reservation = new Reservation(customerId, seat.getSeatId(), seat.getConcertScheduleId());
         Reservation savedReservation = reservationService.save(reservation);
@@ -55,7 +68,9 @@ public class ReservationUsecase {
      */
     public ReservationDTO createReservationWithPessimistic(long seatId, long customerId) {
         log.info("{}>> [UseCase] createReservationWithPessimistic 시작, 예약ID: {}", Thread.currentThread().getName(), customerId);
+        long startedNanos = System.nanoTime();
         Seat seat = seatService.reserveSeatWithPessimistic(seatId, customerId);
+        admissionLimiter.recordReservation(System.nanoTime() - startedNanos, false);
         log.info("{}>> [Pessimistic Lock] createReservationWithPessimistic 완료, 예약ID: {}", Thread.currentThread().getName(), customerId);
         Reservation reservation = new Reservation(customerId, seat.getSeatId(), seat.getConcertScheduleId());
         Reservation savedReservation = reservationService.save(reservation);
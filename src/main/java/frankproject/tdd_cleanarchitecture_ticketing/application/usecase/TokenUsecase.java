@@ -1,20 +1,36 @@
 package frankproject.tdd_cleanarchitecture_ticketing.application.usecase;
 
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.AccessTokenDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.AdmissionTickDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.HeartbeatEvictionDTO;
 import frankproject.tdd_cleanarchitecture_ticketing.application.dto.RedisTokenDTO;
 import frankproject.tdd_cleanarchitecture_ticketing.application.dto.TokenDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.AccessTokenClaims;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Concert;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Customer;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.RedisToken;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Token;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.AccessTokenSigner;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.service.ConcertService;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.service.CustomerService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.QueueJoinBatcher;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.QueueLaneProperties;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueAdmission;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueEventPublisher;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.LongToIntFunction;
 
+@Slf4j
 @Service
 public class TokenUsecase {
 
@@ -24,6 +40,14 @@ public class TokenUsecase {
     private CustomerService customerService;
     @Autowired
     private ConcertService concertService;
+    @Autowired
+    private WaitingQueue waitingQueue;
+    @Autowired
+    private AccessTokenSigner accessTokenSigner;
+    @Autowired
+    private QueueJoinBatcher queueJoinBatcher;
+    @Autowired
+    private QueueEventPublisher queueEventPublisher;
 
     public TokenUsecase(TokenService tokenService, ConcertService concertService) {
         this.tokenService = tokenService;
@@ -53,16 +77,34 @@ public class TokenUsecase {
 
     // 콘서트 대기열 참가
     public TokenDTO generateNewToken(long customerId, long concertId) {
+        return generateNewToken(customerId, concertId, QueueLaneProperties.DEFAULT_LANE);
+    }
+
+    // 콘서트 대기열 차선 참가
+    public TokenDTO generateNewToken(long customerId, long concertId, int lane) {
 
         Customer customer = customerService.findById(customerId);
         Concert concert = concertService.findById(concertId);
 
-        return convertToTokenDTO(tokenService.generateNewToken(customer.getCustomerId(), concert.getConcertId()));
+        TokenDTO tokenDTO = convertToTokenDTO(tokenService.generateNewToken(customer.getCustomerId(), concert.getConcertId(), lane));
+        publishQueueChanged(concert.getConcertId());
+        return tokenDTO;
+    }
+
+    public RedisTokenDTO generateNewTokenWithRedis(long customerId, long concertId) {
+        return generateNewTokenWithRedis(customerId, concertId, QueueLaneProperties.DEFAULT_LANE);
     }
 
-    public RedisTokenDTO generateNewTokenWithRedis(long customerId) {
+    // 우선 차선 참가는 일반 참가보다 적으므로 묶음 처리 없이 바로 참가
+    public RedisTokenDTO generateNewTokenWithRedis(long customerId, long concertId, int lane) {
         Customer customer = customerService.findById(customerId);
-        return convertToRedisTokenDTO(tokenService.generateNewTokenWithRedis(customer.getCustomerId()));
+        Concert concert = concertService.findById(concertId);
+        RedisToken token = lane == QueueLaneProperties.DEFAULT_LANE
+                ? queueJoinBatcher.join(customer.getCustomerId(), concert.getConcertId())
+                : tokenService.generateNewTokenWithRedis(customer.getCustomerId(), concert.getConcertId(), lane);
+        RedisTokenDTO redisTokenDTO = convertToRedisTokenDTO(token);
+        publishQueueChanged(concert.getConcertId());
+        return redisTokenDTO;
     }
 
     // 본인 콘서트 대기열 조회
@@ -74,9 +116,27 @@ public class TokenUsecase {
         return  convertToTokenDTO(tokenService.checkToken(customer.getCustomerId(), concert.getConcertId()));
     }
 
-    public RedisTokenDTO checkTokenWithRedis(long customerId) {
+    public RedisTokenDTO checkTokenWithRedis(long customerId, long concertId) {
         Customer customer = customerService.findById(customerId);
-        return convertToRedisTokenDTO(tokenService.checkTokenWithRedis(customer.getCustomerId()));
+        Concert concert = concertService.findById(concertId);
+        return convertToRedisTokenDTO(tokenService.checkTokenWithRedis(customer.getCustomerId(), concert.getConcertId()));
+    }
+
+    // 대기자 하트비트 (응답 없이 접속 중임만 알림)
+    public void heartbeatWithRedis(long customerId, long concertId) {
+        tokenService.heartbeatWithRedis(concertId, List.of(customerId));
+    }
+
+    // 순번 구독(SSE) 중인 고객들의 하트비트를 한 번에 갱신
+    public void refreshHeartbeatsWithRedis(long concertId, Collection<Long> customerIds) {
+        tokenService.heartbeatWithRedis(concertId, customerIds);
+    }
+
+    // 하트비트가 끊겨 제거한 대기자 현황
+    public HeartbeatEvictionDTO findHeartbeatEvictionWithRedis() {
+        Map<Long, Long> evictedByConcert = tokenService.findEvictedCountsWithRedis();
+        long totalEvicted = evictedByConcert.values().stream().mapToLong(Long::longValue).sum();
+        return new HeartbeatEvictionDTO(tokenService.isHeartbeatEnabled(), tokenService.getHeartbeatTimeoutMillis(), totalEvicted, evictedByConcert);
     }
 
     // 토큰 활성화 여부 조회
@@ -87,20 +147,122 @@ public class TokenUsecase {
         return tokenService.isActiveTokenWithRedis(tokenId);
     }
 
-    // 스케줄러가 자동으로 토큰 상태 관리
-    public void manageTokens(int size){
+    // 활성화 토큰 만료 시각 조회 (로컬 캐시 적재용)
+    public long findActiveTokenExpiresAtWithRedis(UUID tokenId){
+        return tokenService.findActiveTokenExpiresAtWithRedis(tokenId);
+    }
 
-        List<Concert> concertList = concertService.findAll();
+    // 대기열을 통과한 토큰을 서명된 접근 토큰으로 교환 (이후 요청은 서버에서 서명만 확인)
+    public AccessTokenDTO issueAccessTokenWithRedis(long concertId, UUID tokenId){
+        AccessTokenClaims claims = tokenService.findActiveTokenClaimsWithRedis(concertId, tokenId);
+        return new AccessTokenDTO(accessTokenSigner.sign(claims), claims.getExpiresAt());
+    }
 
-        for(Concert concert : concertList){
-            tokenService.expireToken(concert.getConcertId());
-            tokenService.activeToken(concert.getConcertId(), size);
+    // 현재 활성화된 토큰 ID (서버 기동 시 활성화 토큰 필터 적재용)
+    public List<UUID> findActiveTokenIdsWithRedis(){
+        return tokenService.findActiveTokenIdsWithRedis();
+    }
+
+    // 최근 회수된 토큰 ID와 회수 시각 (서버 기동 시 회수 목록 적재용)
+    public Map<UUID, Long> findRecentlyRevokedTokensWithRedis(){
+        return tokenService.findRecentlyRevokedTokensWithRedis();
+    }
+
+    // 활성화 토큰 회수
+    public void revokeTokenWithRedis(long concertId, UUID tokenId){
+        tokenService.revokeTokenWithRedis(concertId, tokenId);
+        publishQueueChanged(concertId);
+    }
+
+    // 설정된 대기열 엔진(token.queue.engine)으로 참가 후 대기 순번 반환
+    public long joinQueue(long customerId, long concertId) {
+        Customer customer = customerService.findById(customerId);
+        Concert concert = concertService.findById(concertId);
+        long position = waitingQueue.join(concert.getConcertId(), customer.getCustomerId());
+        publishQueueChanged(concert.getConcertId());
+        return position;
+    }
+
+    // 설정된 대기열 엔진으로 본인 대기 순번 조회
+    public long checkQueuePosition(long customerId, long concertId) {
+        return waitingQueue.position(concertId, customerId);
+    }
+
+    // 설정된 대기열 엔진에서 본인이 대기 중인 차선 (순번은 차선마다 따로 당겨진다)
+    public int checkQueueLane(long customerId, long concertId) {
+        return waitingQueue.lane(concertId, customerId);
+    }
+
+    // 설정된 대기열 엔진의 활성화 토큰 유지 시간
+    public long activeTtlMillis() {
+        return waitingQueue.activeTtlMillis();
+    }
+
+    // 설정된 대기열 엔진에서 대기/활성화 토큰이 있는 콘서트 ID
+    public Collection<Long> findLiveConcertIds() {
+        return waitingQueue.liveConcertIds();
+    }
+
+    // 설정된 대기열 엔진으로 만료 후 빈 슬롯만큼 통과 (대기/활성화 토큰이 있는 콘서트 전체)
+    public AdmissionTickDTO manageQueue(LongToIntFunction activeSizeOf) {
+        return manageQueue(waitingQueue.liveConcertIds(), activeSizeOf);
+    }
+
+    // 설정된 대기열 엔진으로 만료 후 빈 슬롯만큼 통과 (대기열이 빈 콘서트는 건너뜀)
+    public AdmissionTickDTO manageQueue(Collection<Long> concertIds, LongToIntFunction activeSizeOf) {
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startedNanos = System.nanoTime();
+        int processed = 0;
+        int skipped = 0;
+        long totalExpired = 0;
+        long totalAdmitted = 0;
+
+        for(long concertId : concertIds){
+            if(waitingQueue.isIdle(concertId)) {
+                skipped++;
+                continue;
+            }
+            long expired = waitingQueue.expire(concertId);
+            QueueAdmission admission = waitingQueue.admitByLane(concertId, activeSizeOf.applyAsInt(concertId));
+            int admitted = admission.getAdmittedCount();
+            log.debug("[대기열 관리] 콘서트 ID: {}, 만료 {}건, 활성화 {}건", concertId, expired, admitted);
+            publishAdmitted(concertId, admission);
+            processed++;
+            totalExpired += expired;
+            totalAdmitted += admitted;
         }
+
+        long elapsedMicros = (System.nanoTime() - startedNanos) / 1000;
+        return new AdmissionTickDTO(startedAt, elapsedMicros, processed, skipped, totalExpired, totalAdmitted);
     }
 
-    public void manageTokensWithRedis(int size) {
+    // 통과 스케줄러에 해당 콘서트 처리 요청 (token.queue.events.relay=redis면 리더가 다른 서버에 있어도 깨어난다)
+    private void publishQueueChanged(long concertId) {
+        queueEventPublisher.queueChanged(concertId);
+    }
 
-        tokenService.expireTokenWithRedis();
-        tokenService.activeTokenWithRedis(size);
+    // 모든 서버의 대기열 순번 구독자에게 차선별 통과 인원과 제거 순번 전파 (통과 인원이 없어도 제거된 대기자가 있으면 알림)
+    private void publishAdmitted(long concertId, QueueAdmission admission) {
+        queueEventPublisher.admitted(concertId, admission);
+    }
+
+    // 리더 스케줄러가 처리할 콘서트 ID (Redis로 중계하면 다른 서버에서 참가/회수한 콘서트 포함)
+    public List<Long> takeChangedConcerts(int count) {
+        return queueEventPublisher.takeChangedConcerts(count);
+    }
+
+    // 레디스 대기열 멤버 형식 변환 (JSON -> 바이너리)
+    public void migrateLegacyRedisTokens() {
+
+        List<Concert> concertList = concertService.findAll();
+
+        for(Concert concert : concertList){
+            tokenService.migrateLegacyMembersWithRedis(concert.getConcertId());
+            // 등록 목록이 생기기 전부터 대기 중인 콘서트를 등록
+            if(tokenService.hasLiveTokensWithRedis(concert.getConcertId())) {
+                tokenService.registerLiveConcertWithRedis(concert.getConcertId());
+            }
+        }
     }
 }
@@ -18,7 +18,9 @@ public enum ErrorCode {
     INSUFFICIENT_POINTS(HttpStatus.NOT_FOUND.value(), "포인트가 부족합니다"),
     PAYMENT_FAILED(HttpStatus.NOT_FOUND.value(), "결제 처리에 실패했습니다"),
     UNAUTHORIZED(HttpStatus.UNAUTHORIZED.value(), "토큰이 유효하지 않거나 대기열 통과를 실패했습니다"),
-    ALREADY_IN_QUEUE(HttpStatus.CONFLICT.value(), "이미 대기열에 참가한 사용자입니다");
+    ALREADY_IN_QUEUE(HttpStatus.CONFLICT.value(), "이미 대기열에 참가한 사용자입니다"),
+    LANE_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "대기열 차선을 찾을 수 없습니다"),
+    QUEUE_JOIN_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE.value(), "대기열 참가 처리가 지연되고 있습니다");
 
 
     private final int code;
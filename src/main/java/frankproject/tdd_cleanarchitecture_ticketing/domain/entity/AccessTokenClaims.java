@@ -0,0 +1,51 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+// 서명된 접근 토큰에 담기는 내용 (대기열 통과 후 발급, 서버가 Redis 조회 없이 검증)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessTokenClaims {
+
+    // 바이너리 크기 (tokenId 16 + customerId 8 + concertId 8 + issuedAt 8 + expiresAt 8)
+    public static final int ENCODED_SIZE = 48;
+
+    private UUID tokenId;
+    private long customerId;
+    private long concertId;
+    private long issuedAt;
+    private long expiresAt;
+
+    // 발급 시각부터 만료 시각 전까지 유효
+    public boolean isValidAt(long now) {
+        return isValidAt(now, 0);
+    }
+
+    // 발급 서버와 검증 서버의 시계 차이를 허용 (발급 시각은 앞당기고 만료 시각은 늦춰서 비교)
+    public boolean isValidAt(long now, long clockSkewMillis) {
+        return issuedAt - clockSkewMillis <= now && now < expiresAt + clockSkewMillis;
+    }
+
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(ENCODED_SIZE)
+                .putLong(tokenId.getMostSignificantBits())
+                .putLong(tokenId.getLeastSignificantBits())
+                .putLong(customerId)
+                .putLong(concertId)
+                .putLong(issuedAt)
+                .putLong(expiresAt)
+                .array();
+    }
+
+    public static AccessTokenClaims fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        UUID tokenId = new UUID(buffer.getLong(), buffer.getLong());
+        return new AccessTokenClaims(tokenId, buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+}
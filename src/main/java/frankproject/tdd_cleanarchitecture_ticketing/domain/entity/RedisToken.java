@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 @Getter
@@ -11,12 +12,51 @@ import java.util.UUID;
 @AllArgsConstructor
 public class RedisToken {
 
+    // 대기열 멤버 바이너리 크기 (customerId 8바이트 + tokenID 16바이트)
+    public static final int ENCODED_SIZE = 24;
+
     private long customerId;
     private UUID tokenID;
     private long rank;
+    // 대기 중인 차선 (멤버 바이너리에는 담지 않고 순번 조회 때만 채운다)
+    private int lane;
 
     public RedisToken(long customerId, UUID tokenID) {
         this.customerId = customerId;
         this.tokenID = tokenID;
     }
+
+    public RedisToken(long customerId, UUID tokenID, long rank) {
+        this.customerId = customerId;
+        this.tokenID = tokenID;
+        this.rank = rank;
+    }
+
+    // 고정 길이 바이너리로 변환 (앞 8바이트는 고객 인덱스, 뒤 16바이트는 토큰 인덱스 필드와 동일)
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(ENCODED_SIZE)
+                .putLong(customerId)
+                .putLong(tokenID.getMostSignificantBits())
+                .putLong(tokenID.getLeastSignificantBits())
+                .array();
+    }
+
+    public static RedisToken fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long customerId = buffer.getLong();
+        return new RedisToken(customerId, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+
+    // 고객 인덱스 필드 (customerId 8바이트)
+    public static byte[] customerField(long customerId) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(customerId).array();
+    }
+
+    // 토큰 인덱스 필드 (tokenID 16바이트)
+    public static byte[] tokenField(UUID tokenID) {
+        return ByteBuffer.allocate(Long.BYTES * 2)
+                .putLong(tokenID.getMostSignificantBits())
+                .putLong(tokenID.getLeastSignificantBits())
+                .array();
+    }
 }
@@ -1,7 +1,6 @@
 package frankproject.tdd_cleanarchitecture_ticketing.domain.entity;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
@@ -10,12 +9,24 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "token")
+@Table(name = "token", indexes = {
+        // 콘서트별 상태/순번 조회, 일괄 활성화(ORDER BY wait_number LIMIT n)용
+        @Index(name = "idx_token_concert_status_wait", columnList = "concert_id, status, wait_number"),
+        // 차선별 일괄 활성화와 차선별 통과 순번 조회용
+        @Index(name = "idx_token_concert_lane_status_wait", columnList = "concert_id, lane, status, wait_number"),
+        // 대기/활성화 토큰이 있는 콘서트 목록 조회용 (만료 토큰은 읽지 않음)
+        @Index(name = "idx_token_status_concert", columnList = "status, concert_id")
+}, uniqueConstraints = {
+        // 만료되지 않은 토큰은 고객당 콘서트별 하나 (만료 시 live_customer_id가 NULL이 되어 재참가 가능)
+        @UniqueConstraint(name = "uk_token_concert_live_customer", columnNames = {"concert_id", "live_customer_id"})
+})
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Token {
 
+    // 활성화 유지 시간 (테스트를 위해 2초, 운영은 20분)
+    public static final long ACTIVE_SECONDS = 2;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "token_id")
@@ -30,10 +41,18 @@ public class Token {
     @Column(name = "wait_number")
     private long waitNumber;
 
+    // 대기열 차선 (0: 일반, 그 외: token.queue.lanes.weights에 설정한 우선 차선), 순번은 차선마다 따로 매긴다
+    @Column(name = "lane", nullable = false, columnDefinition = "int default 0")
+    private int lane;
+
     @Column(name = "status")
     // PENDING(대기) ACTIVE(활성화) EXPIRED(만료)
     private String status;
 
+    // 만료 전에는 customer_id, 만료 후에는 NULL (중복 참가 방지 유니크 키)
+    @Column(name = "live_customer_id")
+    private Long liveCustomerId;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -42,15 +61,32 @@ public class Token {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    public Token(long tokenId, long customerId, long concertId, long waitNumber, String status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.tokenId = tokenId;
+        this.customerId = customerId;
+        this.concertId = concertId;
+        this.waitNumber = waitNumber;
+        this.status = status;
+        this.liveCustomerId = "EXPIRED".equals(status) ? null : customerId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public Token(Long concertId, Long customerId, long waitNumber, String status, LocalDateTime createdAt, LocalDateTime passedAt) {
         this.customerId = customerId;
         this.concertId = concertId;
         this.waitNumber = waitNumber;
         this.status = status;
+        this.liveCustomerId = "EXPIRED".equals(status) ? null : customerId;
         this.createdAt = createdAt;
         this.updatedAt = passedAt;
     }
 
+    public Token(Long concertId, Long customerId, long waitNumber, String status, LocalDateTime createdAt, LocalDateTime passedAt, int lane) {
+        this(concertId, customerId, waitNumber, status, createdAt, passedAt);
+        this.lane = lane;
+    }
+
     // 만료 여부 확인 메소드
     public boolean isExpired() {
         LocalDateTime now = LocalDateTime.now();
@@ -59,7 +95,7 @@ public class Token {
             return false;
         }
         // 상태가 ACTIVE이고 업데이트된 시간으로부터 20분 이상 경과하면 // 테스트를 위해 2초로 변경
-        if ("ACTIVE".equals(status) && updatedAt != null && updatedAt.plusSeconds(2).isBefore(now)) {
+        if ("ACTIVE".equals(status) && updatedAt != null && updatedAt.plusSeconds(ACTIVE_SECONDS).isBefore(now)) {
 //        if ("ACTIVE".equals(status) && updatedAt != null && updatedAt.plusMinutes(20).isBefore(now)) {
             return true;
         }
@@ -76,6 +112,7 @@ public class Token {
     public void markAsExpired() {
         if ("ACTIVE".equals(status)) {
             this.status = "EXPIRED";
+            this.liveCustomerId = null;
             this.updatedAt = LocalDateTime.now();
         }
     }
@@ -94,6 +131,7 @@ public class Token {
                 ", concertId=" + concertId +
                 ", customerId=" + customerId +
                 ", waitNumber=" + waitNumber +
+                ", lane=" + lane +
                 ", status='" + status + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
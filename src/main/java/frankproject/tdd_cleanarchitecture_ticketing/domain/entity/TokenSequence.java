@@ -0,0 +1,49 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+// 콘서트/차선별 대기 순번 카운터 (서버는 블록 단위로 순번을 가져가 메모리에서 나눠준다)
+@Entity
+@Table(name = "token_sequence")
+@IdClass(TokenSequence.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenSequence {
+
+    @Id
+    @Column(name = "concert_id")
+    private long concertId;
+
+    // 대기열 차선 (0: 일반)
+    @Id
+    @Column(name = "lane", columnDefinition = "int default 0")
+    private int lane;
+
+    // 아직 어느 서버에도 할당되지 않은 첫 순번
+    @Column(name = "next_value")
+    private long nextValue;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private long concertId;
+        private int lane;
+    }
+}
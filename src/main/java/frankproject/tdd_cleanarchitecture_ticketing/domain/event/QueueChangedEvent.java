@@ -0,0 +1,15 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.event;
+
+import lombok.Getter;
+
+// 대기열 참가, 토큰 회수 등으로 콘서트의 통과 처리가 다시 필요해졌을 때 발행
+@Getter
+public class QueueChangedEvent {
+
+    private final long concertId;
+
+    public QueueChangedEvent(long concertId) {
+        this.concertId = concertId;
+    }
+
+}
@@ -0,0 +1,49 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.event;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+// 스케줄러 한 주기에서 콘서트 대기열을 통과한 인원 수
+@Getter
+public class TokensAdmittedEvent {
+
+    private final long concertId;
+    // 차선 번호 -> 통과 인원 (순번은 차선마다 따로 매겨진다)
+    private final Map<Integer, Long> admittedByLane;
+    // 차선 번호 -> 통과 직전 하트비트가 끊겨 제거된 대기자의 제거 당시 순번 (제거한 순서대로, 0이면 알 수 없음)
+    private final Map<Integer, List<Long>> evictedPositionsByLane;
+
+    public TokensAdmittedEvent(long concertId, Map<Integer, Long> admittedByLane, Map<Integer, List<Long>> evictedPositionsByLane) {
+        this.concertId = concertId;
+        this.admittedByLane = Map.copyOf(admittedByLane);
+        this.evictedPositionsByLane = Map.copyOf(evictedPositionsByLane);
+    }
+
+    // 모든 차선의 통과 인원 합계
+    public long getAdmittedCount() {
+        return admittedByLane.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // 해당 차선의 통과 인원
+    public long getAdmittedCount(int lane) {
+        return admittedByLane.getOrDefault(lane, 0L);
+    }
+
+    // 해당 차선의 제거 순번
+    public List<Long> getEvictedPositions(int lane) {
+        return evictedPositionsByLane.getOrDefault(lane, List.of());
+    }
+
+    // 제거 순번을 알 수 없는 제거가 있으면 구독자 순번을 당기는 대신 다시 조회해야 한다
+    public boolean isResync() {
+        return evictedPositionsByLane.values().stream().anyMatch(positions -> positions.contains(0L));
+    }
+
+    // 통과 인원도 제거도 없으면 순번이 바뀌지 않았다
+    public boolean isEmpty() {
+        return getAdmittedCount() <= 0 && evictedPositionsByLane.isEmpty();
+    }
+
+}
@@ -2,6 +2,7 @@ package frankproject.tdd_cleanarchitecture_ticketing.domain.repository;
 
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Token;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +19,16 @@ public interface TokenRepository {
     List<Token> findPendingTokensByConcertId(long concertId);
 
     List<Token> findActiveTokensByConcertId(long concertId);
+
+    boolean existsLiveTokenByConcertId(long concertId);
+
+    List<Long> findLiveConcertIds();
+
+    long countActiveTokensByConcertId(long concertId);
+
+    long countPendingTokensAhead(long concertId, int lane, long waitNumber);
+
+    int activatePendingTokens(long concertId, int lane, int limit, LocalDateTime now);
+
+    int expireActiveTokens(long concertId, LocalDateTime expiredBefore, LocalDateTime now);
 }
@@ -0,0 +1,7 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.repository;
+
+public interface TokenSequenceRepository {
+
+    // blockSize개의 순번 블록을 할당하고 블록의 첫 순번 반환 (순번은 콘서트의 차선마다 따로 매긴다)
+    long allocateBlock(long concertId, int lane, int blockSize);
+}
@@ -0,0 +1,89 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.AccessTokenClaims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+// 접근 토큰 서명/검증 (HMAC-SHA256)
+// 형식: base64url(48바이트 내용) + "." + base64url(HMAC 앞 16바이트), 약 87자
+// 모든 서버가 같은 token.signing.secret(base64, 32바이트 이상 권장)을 사용해야 다른 서버가 발급한 토큰도 검증된다
+@Slf4j
+@Component
+public class AccessTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_SIZE = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    // Mac은 스레드 안전하지 않으므로 스레드마다 하나씩 사용
+    private final ThreadLocal<Mac> macs;
+
+    public AccessTokenSigner(@Value("${token.signing.secret:}") String secret) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            // 설정이 없으면 서버마다 임의 키 사용 (단일 서버 개발 환경용)
+            log.warn("token.signing.secret 설정이 없어 임의 키로 서명합니다. 여러 서버에서는 같은 키를 설정해야 합니다.");
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = Base64.getDecoder().decode(secret);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String sign(AccessTokenClaims claims) {
+        byte[] payload = claims.toBytes();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(mac(payload));
+    }
+
+    // 형식이 맞고 서명이 일치하면 내용 반환, 아니면 null (유효 기간은 호출 측에서 확인)
+    public AccessTokenClaims verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (payload.length != AccessTokenClaims.ENCODED_SIZE || signature.length != MAC_SIZE) {
+            return null;
+        }
+        // 비교 시간으로 서명을 추측하지 못하도록 고정 시간 비교
+        if (!MessageDigest.isEqual(mac(payload), signature)) {
+            return null;
+        }
+        return AccessTokenClaims.fromBytes(payload);
+    }
+
+    private byte[] mac(byte[] payload) {
+        return Arrays.copyOf(macs.get().doFinal(payload), MAC_SIZE);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.RedisToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 레디스 대기열 참가 묶음 처리
+// 요청 스레드는 참가 요청을 넣고 자기 결과만 기다리며, 전용 스레드가 linger-millis 동안(또는 max-batch-size까지) 모은 참가를
+// 콘서트별 묶음 스크립트 + 콘서트 등록의 파이프라인 한 번으로 기록한다 (참가당 왕복 2회 -> 묶음당 1회)
+// 요청 하나의 추가 지연은 linger-millis + 왕복 1회를 넘지 않는다
+// 기록이 timeout-millis 안에 끝나지 않으면, 아직 묶음에 담기지 않은 참가는 직접 기록하고 기록 중인 참가는 QUEUE_JOIN_TIMEOUT으로 실패
+// (기록 중인 참가는 반영 여부를 알 수 없으므로 다시 기록하지 않는다, 재시도하면 ALREADY_IN_QUEUE 또는 참가)
+// token.queue.join-batch.enabled=false면 요청마다 바로 기록
+@Slf4j
+@Component
+public class QueueJoinBatcher implements SmartLifecycle {
+
+    private final TokenService tokenService;
+
+    private final boolean enabled;
+    private final long lingerNanos;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+
+    private final BlockingQueue<PendingJoin> pending = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public QueueJoinBatcher(TokenService tokenService,
+                            @Value("${token.queue.join-batch.enabled:true}") boolean enabled,
+                            @Value("${token.queue.join-batch.linger-millis:2}") long lingerMillis,
+                            @Value("${token.queue.join-batch.max-batch-size:256}") int maxBatchSize,
+                            @Value("${token.queue.join-batch.timeout-millis:3000}") long timeoutMillis) {
+        this.tokenService = tokenService;
+        this.enabled = enabled;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // 대기열 참가 (이미 참가했으면 ALREADY_IN_QUEUE)
+    public RedisToken join(long customerId, long concertId) {
+        if (!enabled || !running) {
+            return tokenService.generateNewTokenWithRedis(customerId, concertId);
+        }
+        PendingJoin join = new PendingJoin(concertId, new RedisToken(customerId, UUID.randomUUID()));
+        pending.add(join);
+        // 종료와 겹쳐 마지막 기록 이후에 들어갔으면 직접 기록
+        if (!running && pending.remove(join)) {
+            return tokenService.generateNewTokenWithRedis(customerId, concertId);
+        }
+        try {
+            return join.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            // 기록 스레드가 아직 꺼내지 않았으면 직접 기록
+            if (pending.remove(join)) {
+                log.warn("대기열 묶음 참가 지연, 직접 기록 고객 ID: {}", customerId);
+                return tokenService.generateNewTokenWithRedis(customerId, concertId);
+            }
+            log.warn("대기열 묶음 참가 시간 초과 고객 ID: {}", customerId);
+            throw new CoreException(ErrorCode.QUEUE_JOIN_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.remove(join);
+            throw new CoreException(ErrorCode.QUEUE_JOIN_TIMEOUT);
+        }
+    }
+
+    // 첫 요청이 들어온 뒤 linger 동안 더 모아서 기록
+    void flushNext() throws InterruptedException {
+        PendingJoin first = pending.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        List<PendingJoin> batch = new ArrayList<>();
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingJoin next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        flush(batch);
+    }
+
+    private void flush(List<PendingJoin> batch) {
+        Map<Long, List<PendingJoin>> joinsByConcert = new LinkedHashMap<>();
+        Map<Long, List<RedisToken>> tokensByConcert = new LinkedHashMap<>();
+        for (PendingJoin join : batch) {
+            joinsByConcert.computeIfAbsent(join.concertId, id -> new ArrayList<>()).add(join);
+            tokensByConcert.computeIfAbsent(join.concertId, id -> new ArrayList<>()).add(join.token);
+        }
+
+        try {
+            Map<Long, List<Boolean>> joined = tokenService.generateNewTokensWithRedis(tokensByConcert);
+            joinsByConcert.forEach((concertId, joins) -> {
+                List<Boolean> flags = joined.get(concertId);
+                for (int i = 0; i < joins.size(); i++) {
+                    if (flags.get(i)) {
+                        joins.get(i).result.complete(joins.get(i).token);
+                    } else {
+                        joins.get(i).result.completeExceptionally(new CoreException(ErrorCode.ALREADY_IN_QUEUE));
+                    }
+                }
+            });
+        } catch (Exception e) {
+            log.error("대기열 묶음 참가 실패: {}건, {}", batch.size(), e.getMessage());
+            batch.forEach(join -> join.result.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(() -> {
+            while (running) {
+                try {
+                    flushNext();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            // 종료 중에 남은 참가도 기록
+            List<PendingJoin> rest = new ArrayList<>();
+            pending.drainTo(rest);
+            if (!rest.isEmpty()) {
+                flush(rest);
+            }
+        }, "queue-join-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static class PendingJoin {
+        private final long concertId;
+        private final RedisToken token;
+        private final CompletableFuture<RedisToken> result = new CompletableFuture<>();
+
+        private PendingJoin(long concertId, RedisToken token) {
+            this.concertId = concertId;
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// 대기열 차선(lane)별 통과 가중치 설정
+// token.queue.lanes.weights.0=1   (일반 예매, 설정이 없어도 항상 존재)
+// token.queue.lanes.weights.1=3   (팬클럽 선예매)
+// 차선마다 순번을 따로 매기고, 통과 때 빈 슬롯을 대기자가 있는 차선끼리 가중치 비율로 나눈다
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "token.queue.lanes")
+public class QueueLaneProperties {
+
+    public static final int DEFAULT_LANE = 0;
+
+    // 차선 번호별 가중치 (1 이상)
+    private Map<Integer, Integer> weights = new HashMap<>();
+
+    // 설정된 차선 번호 (오름차순, 기본 차선 포함)
+    public List<Integer> lanes() {
+        TreeSet<Integer> lanes = new TreeSet<>(weights.keySet());
+        lanes.add(DEFAULT_LANE);
+        return List.copyOf(lanes);
+    }
+
+    public boolean hasLane(int lane) {
+        return lane == DEFAULT_LANE || weights.containsKey(lane);
+    }
+
+    public boolean isMultiLane() {
+        return lanes().size() > 1;
+    }
+
+    public int weightOf(int lane) {
+        return Math.max(1, weights.getOrDefault(lane, 1));
+    }
+
+    // slots개의 자리를 주어진 차선들에 가중치 비율로 나눔 (비율대로 내림한 뒤 남는 자리는 가중치가 큰 차선부터 한 자리씩)
+    public Map<Integer, Integer> split(int slots, List<Integer> lanes) {
+        Map<Integer, Integer> shares = new LinkedHashMap<>();
+        long totalWeight = lanes.stream().mapToLong(this::weightOf).sum();
+        if(slots <= 0 || totalWeight == 0) {
+            return shares;
+        }
+
+        int given = 0;
+        for(int lane : lanes) {
+            int share = (int) (slots * (long) weightOf(lane) / totalWeight);
+            shares.put(lane, share);
+            given += share;
+        }
+        List<Integer> byWeight = new ArrayList<>(lanes);
+        byWeight.sort(Comparator.comparingInt(this::weightOf).reversed());
+        for(int i = 0; given < slots; i = (i + 1) % byWeight.size()) {
+            shares.merge(byWeight.get(i), 1, Integer::sum);
+            given++;
+        }
+        return shares;
+    }
+}
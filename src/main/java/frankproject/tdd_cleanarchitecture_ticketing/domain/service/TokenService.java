@@ -1,105 +1,594 @@
 package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.AccessTokenClaims;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.RedisToken;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Token;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.repository.TokenRepository;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueAdmission;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class TokenService {
 
+    // 콘서트별 키는 {concertId} 해시 태그를 붙여 Redis Cluster에서 같은 슬롯에 모이도록 한다
+    // queue:{concertId}, active:{concertId}, queue:{concertId}:customer, queue:{concertId}:token,
+    // queue:{concertId}:seq, queue:{concertId}:served, queue:{concertId}:heartbeat, queue:{concertId}:evicted
+    // 분할 대기열(token.queue.redis.shards > 1)은 분할마다 슬롯이 다르도록 queue:{concertId#shard}(:customer, :token)를 쓰고,
+    // 참가 순번은 콘서트 전체 카운터 queue:{concertId}:seq에서 받아 분할 간에도 FIFO를 유지한다
+    // 우선 차선(token.queue.lanes)은 queue:{concertId}:lane:{lane}(:seq, :served, :evicted)에 따로 줄을 세우고,
+    // 고객/토큰 인덱스와 하트비트는 차선 간에 공유해 한 고객이 두 차선에 동시에 참가하지 못하게 한다
     private static final String QUEUE_PREFIX = "queue:";
     private static final String ACTIVE_PREFIX = "active:";
+    // 활성화 토큰별 키 (active:token:{tokenId}, TTL = 활성화 유지 시간)
+    private static final String ACTIVE_TOKEN_PREFIX = "active:token:";
+    public static final long ACTIVE_TOKEN_TTL_MILLIS = 60000;
+    // 활성화 토큰 회수 알림 채널 (각 서버의 로컬 캐시 무효화용)
+    public static final String TOKEN_REVOKED_CHANNEL = "token:revoked";
+    // 활성화 토큰 알림 채널 (각 서버의 활성화 토큰 필터 갱신용, 토큰 ID 16바이트씩 이어 붙임)
+    public static final String TOKEN_ADMITTED_CHANNEL = "token:admitted";
+    // 최근 회수된 토큰 ID (score = 회수 시각, 활성화 유지 시간이 지나면 정리)
+    private static final String REVOKED_TOKENS_KEY = "token:revoked:set";
+    // 대기열 보조 인덱스 (customerId 8바이트 -> 멤버, tokenId 16바이트 -> 멤버)
+    private static final String QUEUE_CUSTOMER_INDEX = ":customer";
+    private static final String QUEUE_TOKEN_INDEX = ":token";
+    // 대기 중이거나 활성화된 토큰이 있는 콘서트 ID 집합 (스케줄러가 순회하는 대상)
+    private static final String LIVE_CONCERTS_KEY = "queue:live-concerts";
+    // 대기열 참가 순번 카운터(score)와 대기열을 통과한 마지막 순번
+    private static final String QUEUE_SEQUENCE = ":seq";
+    private static final String QUEUE_SERVED = ":served";
+    private static final String QUEUE_LANE = ":lane:";
+    // 대기자 하트비트 (customerId 8바이트 -> 마지막 확인 시각, 참가/순번 조회/하트비트 요청으로 갱신)
+    // 하트비트가 끊겨 제거한 대기자의 순번 (순번 계산에서 빼기 위해 통과 순번을 지나기 전까지만 보관)
+    private static final String QUEUE_HEARTBEAT = ":heartbeat";
+    private static final String QUEUE_EVICTED = ":evicted";
+    // 분할 대기열에서 꺼냈지만 아직 활성화 ZSet에 넣지 못한 멤버 (score = 꺼낸 시각, 분할과 같은 슬롯)
+    private static final String QUEUE_ADMITTING = ":admitting";
+    // 하트비트가 끊겨 제거한 대기자 수 (콘서트 ID -> 누적 인원, 그만큼 활성화 슬롯을 아낌)
+    private static final String EVICTED_COUNT_KEY = "queue:heartbeat:evicted";
+    // 통과 처리가 다시 필요한 콘서트 ID (리더가 주기마다 꺼내 처리하므로 알림이 유실되거나 리더가 바뀌어도 남는다)
+    private static final String CHANGED_CONCERTS_KEY = "queue:changed-concerts";
+    // 대기열 변경 알림 채널 (어느 서버에서 참가/회수해도 리더 스케줄러를 깨우기 위함, 콘서트 ID)
+    public static final String QUEUE_CHANGED_CHANNEL = "queue:changed";
+    // 대기열 통과 인원 알림 채널 (모든 서버의 SSE 구독자 순번 갱신용, "콘서트 ID:차선=인원,차선=인원:차선=제거 순번.제거 순번,...")
+    public static final String QUEUE_ADMITTED_CHANNEL = "queue:admitted";
+
+    // 중복 참가 확인 후 ZSet과 인덱스를 원자적으로 추가 (0: 이미 참가, 1: 참가 완료)
+    // score는 콘서트별 참가 순번이며, 카운터가 없으면 기존 멤버의 마지막 score(참가 시각)부터 이어간다
+    private static final RedisScript<Long> JOIN_QUEUE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1 then
+                return 0
+            end
+            if redis.call('EXISTS', KEYS[4]) == 0 then
+                local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+                if #last > 0 then
+                    redis.call('SET', KEYS[4], last[2])
+                end
+            end
+            local seq = redis.call('INCR', KEYS[4])
+            redis.call('ZADD', KEYS[1], seq, ARGV[3])
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+            redis.call('HSET', KEYS[3], ARGV[2], ARGV[3])
+            redis.call('ZADD', KEYS[5], ARGV[4], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // JOIN_QUEUE_SCRIPT를 여러 고객에 대해 차례로 수행 (ARGV: 현재 시각, {고객 필드, 토큰 필드, 멤버} 반복, 결과: 고객별 0/1)
+    // 같은 묶음 안의 중복 참가도 앞선 참가가 인덱스에 기록된 뒤 확인하므로 0이 된다
+    private static final RedisScript<List<Object>> JOIN_QUEUE_BATCH_SCRIPT = listScript("""
+            if redis.call('EXISTS', KEYS[4]) == 0 then
+                local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+                if #last > 0 then
+                    redis.call('SET', KEYS[4], last[2])
+                end
+            end
+            local results = {}
+            for i = 2, #ARGV, 3 do
+                if redis.call('HEXISTS', KEYS[2], ARGV[i]) == 1 then
+                    results[#results + 1] = 0
+                else
+                    local seq = redis.call('INCR', KEYS[4])
+                    redis.call('ZADD', KEYS[1], seq, ARGV[i + 2])
+                    redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 2])
+                    redis.call('HSET', KEYS[3], ARGV[i + 1], ARGV[i + 2])
+                    redis.call('ZADD', KEYS[5], ARGV[1], ARGV[i])
+                    results[#results + 1] = 1
+                end
+            end
+            return results
+            """);
+
+    // 빈 슬롯을 차선별로 나눠 ZPOPMIN 후 활성화 ZSet에 추가하고 인덱스 정리
+    // KEYS: 활성화, 고객 인덱스, 토큰 인덱스, 하트비트, 차선마다 {대기열, 통과 순번, 제거 기록} / ARGV: 최대 활성화 인원, 현재 시각, 차선별 가중치
+    // 대기자가 있는 차선끼리 가중치 비율로 내림해 나누고 남는 자리는 가중치가 큰 차선부터 한 자리씩,
+    // 대기자보다 몫이 큰 차선이 있으면 그 차선을 빼고 남은 자리를 다시 나눈다 (ZCARD만 읽으므로 차선 수 + 활성화 인원에 비례)
+    // 차선마다 마지막으로 꺼낸 score를 통과 순번으로 기록 (증가만 함), 통과한 순번까지의 제거 기록은 정리
+    // 통과한 멤버는 토큰별 키를 기록할 때까지 통과 대기 ZSet(KEYS의 마지막)에 통과 시각으로 남기고,
+    // 이전 호출이 토큰별 키를 기록하지 못하고 남긴 멤버 중 아직 활성화 ZSet에 있는(회수되지 않은) 멤버를 함께 돌려준다
+    // 반환: {통과한 멤버 목록, 차선별 통과 인원 (KEYS의 차선 순서), 남아 있던 {멤버, 통과 시각} 목록}
+    private static final RedisScript<List<Object>> ADMIT_TOKENS_SCRIPT = listScript("""
+            local staging = KEYS[#KEYS]
+            local staged = {}
+            local leftover = redis.call('ZRANGE', staging, 0, -1, 'WITHSCORES')
+            for i = 1, #leftover, 2 do
+                if redis.call('ZSCORE', KEYS[1], leftover[i]) then
+                    staged[#staged + 1] = leftover[i]
+                    staged[#staged + 1] = leftover[i + 1]
+                else
+                    redis.call('ZREM', staging, leftover[i])
+                end
+            end
+            local free = tonumber(ARGV[1]) - redis.call('ZCARD', KEYS[1])
+            if free <= 0 then
+                return {{}, {}, staged}
+            end
+            local lanes = (#KEYS - 5) / 3
+            local left, quota, order = {}, {}, {}
+            for l = 1, lanes do
+                left[l] = redis.call('ZCARD', KEYS[2 + l * 3])
+                quota[l] = 0
+                order[l] = l
+            end
+            table.sort(order, function(a, b)
+                local wa, wb = tonumber(ARGV[2 + a]), tonumber(ARGV[2 + b])
+                if wa ~= wb then
+                    return wa > wb
+                end
+                return a < b
+            end)
+            while free > 0 do
+                local total = 0
+                for l = 1, lanes do
+                    if left[l] > 0 then
+                        total = total + tonumber(ARGV[2 + l])
+                    end
+                end
+                if total == 0 then
+                    break
+                end
+                local given = 0
+                for l = 1, lanes do
+                    if left[l] > 0 then
+                        local share = math.min(math.floor(free * tonumber(ARGV[2 + l]) / total), left[l])
+                        quota[l] = quota[l] + share
+                        left[l] = left[l] - share
+                        given = given + share
+                    end
+                end
+                for _, l in ipairs(order) do
+                    if given < free and left[l] > 0 then
+                        quota[l] = quota[l] + 1
+                        left[l] = left[l] - 1
+                        given = given + 1
+                    end
+                end
+                free = free - given
+            end
+            local admitted, counts = {}, {}
+            for l = 1, lanes do
+                counts[l] = 0
+                if quota[l] > 0 then
+                    local popped = redis.call('ZPOPMIN', KEYS[2 + l * 3], quota[l])
+                    for i = 1, #popped, 2 do
+                        local member = popped[i]
+                        redis.call('ZADD', KEYS[1], ARGV[2], member)
+                        redis.call('HDEL', KEYS[2], string.sub(member, 1, 8))
+                        redis.call('HDEL', KEYS[3], string.sub(member, 9, 24))
+                        redis.call('ZREM', KEYS[4], string.sub(member, 1, 8))
+                        redis.call('ZADD', staging, ARGV[2], member)
+                        admitted[#admitted + 1] = member
+                    end
+                    counts[l] = #popped / 2
+                    if #popped > 0 then
+                        local last = tonumber(popped[#popped])
+                        local served = tonumber(redis.call('GET', KEYS[3 + l * 3]) or '0')
+                        if last > served then
+                            redis.call('SET', KEYS[3 + l * 3], popped[#popped])
+                            redis.call('ZREMRANGEBYSCORE', KEYS[4 + l * 3], '-inf', popped[#popped])
+                        end
+                    end
+                end
+            end
+            return {admitted, counts, staged}
+            """);
+
+    // 고객 인덱스로 멤버를 찾아 내가 선 차선에서의 순번 조회 ({멤버, 순번, 차선 위치(0부터, KEYS의 차선 순서)} 또는 nil)
+    // KEYS: 고객 인덱스, 하트비트, 차선마다 {대기열, 통과 순번, 제거 기록}
+    // 순번 = 내 score - 차선 통과 순번 - 1 - 그 사이에 하트비트가 끊겨 제거된 인원 (대기 인원을 넘지 않게 ZCARD로 제한)
+    // 아직 통과 순번이 없으면 ZRANK, 조회하면서 하트비트 갱신
+    private static final RedisScript<List<Object>> QUEUE_RANK_SCRIPT = listScript("""
+            local member = redis.call('HGET', KEYS[1], ARGV[1])
+            if not member then
+                return nil
+            end
+            for i = 3, #KEYS, 3 do
+                local score = redis.call('ZSCORE', KEYS[i], member)
+                if score then
+                    redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+                    local served = redis.call('GET', KEYS[i + 1])
+                    local lane = (i - 3) / 3
+                    if not served then
+                        return {member, redis.call('ZRANK', KEYS[i], member), lane}
+                    end
+                    local evicted = redis.call('ZCOUNT', KEYS[i + 2], '(' .. served, '(' .. score)
+                    local rank = math.min(tonumber(score) - tonumber(served) - 1 - evicted, redis.call('ZCARD', KEYS[i]) - 1)
+                    if rank < 0 then
+                        rank = 0
+                    end
+                    return {member, rank, lane}
+                end
+            end
+            return nil
+            """);
+
+    // 이전 형식(JSON) 멤버를 같은 score의 바이너리 멤버로 교체하고 인덱스 재등록
+    // 이전 형식의 인덱스 필드(문자열 고객 ID ARGV[3], 문자열 토큰 ID ARGV[4])는 통과 때 지워지지 않으므로 여기서 지운다
+    private static final RedisScript<Long> MIGRATE_MEMBER_SCRIPT = new DefaultRedisScript<>("""
+            local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not score then
+                return 0
+            end
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            redis.call('ZADD', KEYS[1], score, ARGV[2])
+            if #KEYS > 1 then
+                redis.call('HDEL', KEYS[2], ARGV[3])
+                redis.call('HDEL', KEYS[3], ARGV[4])
+                redis.call('HSET', KEYS[2], string.sub(ARGV[2], 1, 8), ARGV[2])
+                redis.call('HSET', KEYS[3], string.sub(ARGV[2], 9, 24), ARGV[2])
+            end
+            return 1
+            """, Long.class);
+
+    // 분할 대기열 참가 (ARGV: 현재 시각, {순번, 고객 필드, 토큰 필드, 멤버} 반복, 결과: 고객별 0/1)
+    private static final RedisScript<List<Object>> SHARD_JOIN_SCRIPT = listScript("""
+            local results = {}
+            for i = 2, #ARGV, 4 do
+                if redis.call('HEXISTS', KEYS[2], ARGV[i + 1]) == 1 then
+                    results[#results + 1] = 0
+                else
+                    redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 3])
+                    redis.call('HSET', KEYS[2], ARGV[i + 1], ARGV[i + 3])
+                    redis.call('HSET', KEYS[3], ARGV[i + 2], ARGV[i + 3])
+                    redis.call('ZADD', KEYS[4], ARGV[1], ARGV[i + 1])
+                    results[#results + 1] = 1
+                end
+            end
+            return results
+            """);
+
+    // 분할 대기열에서 고객의 멤버와 순번 조회 ({멤버, 순번} 또는 nil), 조회하면서 하트비트 갱신
+    private static final RedisScript<List<Object>> SHARD_MEMBER_SCRIPT = listScript("""
+            local member = redis.call('HGET', KEYS[2], ARGV[1])
+            if not member then
+                return nil
+            end
+            local score = redis.call('ZSCORE', KEYS[1], member)
+            if not score then
+                return nil
+            end
+            redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1])
+            return {member, score}
+            """);
+
+    // 분할 대기열 앞에서 ARGV[1]명을 꺼내고 인덱스 정리 (꺼낸 멤버 목록 반환)
+    // 꺼낸 멤버는 활성화 ZSet(다른 슬롯)에 옮길 때까지 통과 대기 ZSet(KEYS[5])에 꺼낸 시각(ARGV[2])으로 남긴다
+    private static final RedisScript<List<Object>> SHARD_POP_SCRIPT = listScript("""
+            local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+            local members = {}
+            for i = 1, #popped, 2 do
+                local member = popped[i]
+                redis.call('HDEL', KEYS[2], string.sub(member, 1, 8))
+                redis.call('HDEL', KEYS[3], string.sub(member, 9, 24))
+                redis.call('ZREM', KEYS[4], string.sub(member, 1, 8))
+                redis.call('ZADD', KEYS[5], ARGV[2], member)
+                members[#members + 1] = member
+            end
+            return members
+            """);
+
+    // 마지막 하트비트가 ARGV[1] 이전인 대기자를 최대 ARGV[2]명 제거
+    // KEYS: 고객 인덱스, 토큰 인덱스, 하트비트, 이후 ARGV[3]개씩 {대기열(, 제거 기록)} (분할 대기열은 1, 차선 대기열은 2)
+    // 반환: 제거한 대기자마다 {차선 위치(0부터, KEYS의 차선 순서), 제거 직전 순번(1부터)}
+    // 차선 대기열은 순번이 차선 안의 ZRANK와 같으므로 ZREM 직전에 읽고, 분할 대기열은 분할 전체 순번을 여기서 셀 수 없어 0
+    private static final RedisScript<List<Object>> EVICT_ABANDONED_SCRIPT = listScript("""
+            local stale = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            local step = tonumber(ARGV[3])
+            local evicted = {}
+            for i = 1, #stale do
+                local member = redis.call('HGET', KEYS[1], stale[i])
+                if member then
+                    local lane, position = 0, 0
+                    for k = 4, #KEYS, step do
+                        local score = redis.call('ZSCORE', KEYS[k], member)
+                        if score then
+                            if step == 2 then
+                                lane = (k - 4) / 2
+                                position = redis.call('ZRANK', KEYS[k], member) + 1
+                            end
+                            redis.call('ZREM', KEYS[k], member)
+                            if step == 2 then
+                                redis.call('ZADD', KEYS[k + 1], score, score)
+                            end
+                            break
+                        end
+                    end
+                    redis.call('HDEL', KEYS[1], stale[i])
+                    redis.call('HDEL', KEYS[2], string.sub(member, 9, 24))
+                    evicted[#evicted + 1] = lane
+                    evicted[#evicted + 1] = position
+                end
+                redis.call('ZREM', KEYS[3], stale[i])
+            end
+            return evicted
+            """);
+
+    // 처리 대기 콘서트에 새로 추가될 때만 리더를 깨운다 (이미 있으면 앞선 알림을 리더가 아직 처리하지 않은 것)
+    private static final RedisScript<Long> MARK_QUEUE_CHANGED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SADD', KEYS[1], ARGV[1]) == 1 then
+                redis.call('PUBLISH', ARGV[2], ARGV[1])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    // 스크립트 인자와 결과를 모두 byte[] 그대로 주고받는다
+    private static final RedisSerializer<byte[]> BYTES = RedisSerializer.byteArray();
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private final RedisSerializer<RedisToken> redisTokenSerializer;
+
     private final TokenRepository tokenRepository;
 
-    ObjectMapper objectMapper = new ObjectMapper();
+    private final WaitNumberAllocator waitNumberAllocator;
+
+
+    // 콘서트 하나의 레디스 대기열 분할 수 (1이면 분할하지 않고 queue:{concertId} 하나를 사용)
+    // 고객은 고객 ID로 분할이 정해지므로, 대기 중인 고객이 있는 동안에는 바꾸지 않는다
+    @Value("${token.queue.redis.shards:1}")
+    private int queueShards = 1;
+
+    // 하트비트가 timeout-millis 동안 없는 대기자는 통과 전에 제거 (콘서트별 sweep-interval-millis마다 최대 sweep-limit명)
+    @Value("${token.queue.heartbeat.enabled:true}")
+    private boolean heartbeatEnabled = true;
+    @Value("${token.queue.heartbeat.timeout-millis:60000}")
+    private long heartbeatTimeoutMillis = 60000;
+    @Value("${token.queue.heartbeat.sweep-interval-millis:1000}")
+    private long heartbeatSweepIntervalMillis = 1000;
+    @Value("${token.queue.heartbeat.sweep-limit:1000}")
+    private int heartbeatSweepLimit = 1000;
+
+    // 콘서트 ID -> 다음 제거 확인 시각 (통과는 스케줄러 스레드 하나에서만 수행)
+    private final Map<Long, Long> nextSweepAt = new ConcurrentHashMap<>();
 
-    public TokenService(TokenRepository tokenRepository, RedisTemplate<String, Object> redisTemplate) {
+    // 대기열 차선과 통과 가중치 (설정이 없으면 기본 차선 하나)
+    @Autowired
+    private QueueLaneProperties queueLaneProperties = new QueueLaneProperties();
+
+    public TokenService(TokenRepository tokenRepository, WaitNumberAllocator waitNumberAllocator, RedisTemplate<String, Object> redisTemplate, RedisSerializer<RedisToken> redisTokenSerializer) {
         this.tokenRepository = tokenRepository;
+        this.waitNumberAllocator = waitNumberAllocator;
         this.redisTemplate = redisTemplate;
+        this.redisTokenSerializer = redisTokenSerializer;
+    }
+
+    // 분할 대기열은 분할마다 슬롯이 달라 차선별 가중치 통과를 한 스크립트로 묶을 수 없다
+    @PostConstruct
+    void validateLanes() {
+        if(queueShards > 1 && queueLaneProperties.isMultiLane()) {
+            throw new IllegalStateException("token.queue.lanes는 token.queue.redis.shards=1에서만 사용할 수 있습니다");
+        }
     }
 
     // 콘서트 대기열 참가
+    // 중복 참가는 조회/잠금 없이 (concert_id, live_customer_id) 유니크 키 위반으로 판단
     @Transactional
     public Token generateNewToken(long customerId, long concertId) {
-        Token targetToken = findByCustomerId(customerId, concertId);
+        return generateNewToken(customerId, concertId, QueueLaneProperties.DEFAULT_LANE);
+    }
 
-        if(targetToken != null) {
-            throw new CoreException(ErrorCode.ALREADY_IN_QUEUE);
-        }
+    // 콘서트 대기열 차선 참가 (차선이 달라도 고객당 콘서트별 토큰은 하나)
+    @Transactional
+    public Token generateNewToken(long customerId, long concertId, int lane) {
+        validateLane(lane);
 
-        // 대기열에 PENDING 중인 사람의 마지막 순번을 가져와서 +1 해준 후, 신규 토큰의 순번으로 넣는다.
-        Optional<Long> maxWaitNumber = tokenRepository.findMaxPositionByConcertId(concertId);
-        long nextWaitNumber = maxWaitNumber.orElse(0L) + 1;
+        // 콘서트/차선별 순번 블록에서 다음 순번을 발급 (token 테이블을 조회하거나 잠그지 않음)
+        long nextWaitNumber = waitNumberAllocator.next(concertId, lane);
         Token newToken = new Token(
                 concertId,
                 customerId,
                 nextWaitNumber,
                 "PENDING",
                 LocalDateTime.now(),
-                null
+                null,
+                lane
         );
 
-        return save(newToken);
+        try {
+            return save(newToken);
+        } catch (DataIntegrityViolationException e) {
+            throw new CoreException(ErrorCode.ALREADY_IN_QUEUE);
+        }
     }
 
     // 레디스를 이용한 콘서트 대기열 참가
-    public RedisToken generateNewTokenWithRedis(long customerId) {
-        log.info("1번 토큰 생성: {}", customerId);
-        RedisToken targetToken = null;
-        RedisToken newToken = null;
-        try{
-            targetToken = checkTokenWithRedis(customerId);
-        } catch(Exception e) {
-            long now = System.currentTimeMillis();
-            UUID uuid = UUID.randomUUID();
-            // 대기열의 현재 마지막 순번을 Redis에서 가져옴
-            ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
-            newToken = new RedisToken(customerId, uuid);
-            String jsonString = "";
-            try {
-                // 객체를 JSON 문자열로 변환
-                jsonString = objectMapper.writeValueAsString(newToken);
-            } catch (JsonProcessingException jpe) {
-                log.error("예외 발생 오류 메시지: {}", jpe.getMessage());
-            }
+    public RedisToken generateNewTokenWithRedis(long customerId, long concertId) {
+        return generateNewTokenWithRedis(customerId, concertId, QueueLaneProperties.DEFAULT_LANE);
+    }
 
-            // Redis 리스트에 새로운 토큰 추가
-            zSetOps.add(QUEUE_PREFIX, jsonString, now);
+    // 레디스 대기열 차선 참가 (차선별 ZSet과 순번 카운터에 줄을 세우고, 중복 확인은 차선 간 공유 인덱스로)
+    public RedisToken generateNewTokenWithRedis(long customerId, long concertId, int lane) {
+        log.info("1번 토큰 생성: {}, 콘서트 ID: {}, 차선: {}", customerId, concertId, lane);
+        validateLane(lane);
+        UUID uuid = UUID.randomUUID();
+        RedisToken newToken = new RedisToken(customerId, uuid);
 
+        if(queueShards > 1) {
+            if(!generateNewTokensInShards(Map.of(concertId, List.of(newToken))).get(concertId).get(0)) {
+                throw new CoreException(ErrorCode.ALREADY_IN_QUEUE);
+            }
             return newToken;
         }
 
-        if(targetToken != null) {
+        // 고객 인덱스로 중복 참가를 확인하고, ZSet과 인덱스에 한 번에 추가
+        Long joined = executeScript(
+                JOIN_QUEUE_SCRIPT,
+                List.of(laneKey(concertId, lane), queueKey(concertId) + QUEUE_CUSTOMER_INDEX, queueKey(concertId) + QUEUE_TOKEN_INDEX, laneKey(concertId, lane) + QUEUE_SEQUENCE, queueKey(concertId) + QUEUE_HEARTBEAT),
+                RedisToken.customerField(customerId), RedisToken.tokenField(uuid), redisTokenSerializer.serialize(newToken), bytes(System.currentTimeMillis())
+        );
+
+        if(joined == null || joined == 0L) {
             throw new CoreException(ErrorCode.ALREADY_IN_QUEUE);
         }
+        registerLiveConcertWithRedis(concertId);
 
         return newToken;
     }
 
+    // 레디스 대기열 묶음 참가 (콘서트별 묶음 스크립트와 콘서트 등록을 한 번의 파이프라인으로)
+    // 반환: 콘서트별로 넘긴 토큰 순서대로 참가 여부 (false: 이미 참가)
+    public Map<Long, List<Boolean>> generateNewTokensWithRedis(Map<Long, List<RedisToken>> tokensByConcert) {
+        if(queueShards > 1) {
+            return generateNewTokensInShards(tokensByConcert);
+        }
+        List<Long> concertIds = new ArrayList<>(tokensByConcert.keySet());
+        long now = System.currentTimeMillis();
+        byte[] script = JOIN_QUEUE_BATCH_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(long concertId : concertIds) {
+                List<RedisToken> tokens = tokensByConcert.get(concertId);
+                byte[][] keysAndArgs = new byte[6 + tokens.size() * 3][];
+                keysAndArgs[0] = queueKey(concertId).getBytes(StandardCharsets.UTF_8);
+                keysAndArgs[1] = (queueKey(concertId) + QUEUE_CUSTOMER_INDEX).getBytes(StandardCharsets.UTF_8);
+                keysAndArgs[2] = (queueKey(concertId) + QUEUE_TOKEN_INDEX).getBytes(StandardCharsets.UTF_8);
+                keysAndArgs[3] = (queueKey(concertId) + QUEUE_SEQUENCE).getBytes(StandardCharsets.UTF_8);
+                keysAndArgs[4] = (queueKey(concertId) + QUEUE_HEARTBEAT).getBytes(StandardCharsets.UTF_8);
+                keysAndArgs[5] = bytes(now);
+                for(int i = 0; i < tokens.size(); i++) {
+                    RedisToken token = tokens.get(i);
+                    keysAndArgs[6 + i * 3] = RedisToken.customerField(token.getCustomerId());
+                    keysAndArgs[7 + i * 3] = RedisToken.tokenField(token.getTokenID());
+                    keysAndArgs[8 + i * 3] = redisTokenSerializer.serialize(token);
+                }
+                connection.scriptingCommands().eval(script, ReturnType.MULTI, 5, keysAndArgs);
+            }
+            // 모두 중복이어도 이미 대기 중인 콘서트이므로 그대로 등록해도 된다
+            byte[][] members = concertIds.stream().map(id -> String.valueOf(id).getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+            connection.setCommands().sAdd(LIVE_CONCERTS_KEY.getBytes(StandardCharsets.UTF_8), members);
+            return null;
+        });
+
+        Map<Long, List<Boolean>> joined = new HashMap<>();
+        for(int i = 0; i < concertIds.size(); i++) {
+            List<?> flags = (List<?>) results.get(i);
+            joined.put(concertIds.get(i), flags.stream().map(flag -> ((Number) flag).longValue() == 1L).toList());
+        }
+        return joined;
+    }
+
+    // 분할 대기열 참가
+    // 콘서트별 전체 카운터에서 순번을 한 번에 받아 두고(INCRBY), 분할별 참가 스크립트와 콘서트 등록을 한 번의 파이프라인으로 기록
+    // 중복 참가로 쓰이지 않은 순번은 비어 있는 채로 남는다 (순번 조회는 순번 차이가 아니라 앞선 인원 수로 계산)
+    private Map<Long, List<Boolean>> generateNewTokensInShards(Map<Long, List<RedisToken>> tokensByConcert) {
+        List<Long> concertIds = new ArrayList<>(tokensByConcert.keySet());
+        List<Object> lastTickets = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(long concertId : concertIds) {
+                connection.stringCommands().incrBy((queueKey(concertId) + QUEUE_SEQUENCE).getBytes(StandardCharsets.UTF_8), tokensByConcert.get(concertId).size());
+            }
+            return null;
+        });
+
+        // 분할 키 -> 스크립트 인자(현재 시각 + 참가별 인자), 결과를 돌려줄 (콘서트, 토큰 위치)
+        long now = System.currentTimeMillis();
+        Map<String, List<byte[]>> argsByShard = new LinkedHashMap<>();
+        Map<String, List<long[]>> positionsByShard = new LinkedHashMap<>();
+        for(int c = 0; c < concertIds.size(); c++) {
+            long concertId = concertIds.get(c);
+            List<RedisToken> tokens = tokensByConcert.get(concertId);
+            long firstTicket = (Long) lastTickets.get(c) - tokens.size() + 1;
+            for(int i = 0; i < tokens.size(); i++) {
+                RedisToken token = tokens.get(i);
+                String shardKey = shardKey(concertId, shardOf(token.getCustomerId()));
+                List<byte[]> args = argsByShard.computeIfAbsent(shardKey, key -> new ArrayList<>(List.of(bytes(now))));
+                args.add(bytes(firstTicket + i));
+                args.add(RedisToken.customerField(token.getCustomerId()));
+                args.add(RedisToken.tokenField(token.getTokenID()));
+                args.add(redisTokenSerializer.serialize(token));
+                positionsByShard.computeIfAbsent(shardKey, key -> new ArrayList<>()).add(new long[]{c, i});
+            }
+        }
+
+        List<String> shardKeys = new ArrayList<>(argsByShard.keySet());
+        byte[] script = SHARD_JOIN_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(String shardKey : shardKeys) {
+                List<byte[]> keysAndArgs = new ArrayList<>(shardIndexKeys(shardKey));
+                keysAndArgs.addAll(argsByShard.get(shardKey));
+                connection.scriptingCommands().eval(script, ReturnType.MULTI, 4, keysAndArgs.toArray(byte[][]::new));
+            }
+            byte[][] members = concertIds.stream().map(id -> String.valueOf(id).getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+            connection.setCommands().sAdd(LIVE_CONCERTS_KEY.getBytes(StandardCharsets.UTF_8), members);
+            return null;
+        });
+
+        Boolean[][] joined = new Boolean[concertIds.size()][];
+        for(int c = 0; c < concertIds.size(); c++) {
+            joined[c] = new Boolean[tokensByConcert.get(concertIds.get(c)).size()];
+        }
+        for(int k = 0; k < shardKeys.size(); k++) {
+            List<?> flags = (List<?>) results.get(k);
+            List<long[]> positions = positionsByShard.get(shardKeys.get(k));
+            for(int i = 0; i < positions.size(); i++) {
+                joined[(int) positions.get(i)[0]][(int) positions.get(i)[1]] = ((Number) flags.get(i)).longValue() == 1L;
+            }
+        }
+        Map<Long, List<Boolean>> joinedByConcert = new HashMap<>();
+        for(int c = 0; c < concertIds.size(); c++) {
+            joinedByConcert.put(concertIds.get(c), List.of(joined[c]));
+        }
+        return joinedByConcert;
+    }
+
     // 본인 콘서트 대기열 조회
-    @Transactional
+    @Transactional(readOnly = true)
     public Token checkToken(long customerId, long concertId) {
         Token targetToken = findByCustomerId(customerId, concertId);
 
@@ -107,18 +596,18 @@ public class TokenService {
             throw new CoreException(ErrorCode.TOKEN_NOT_FOUND);
         }
 
-        // 대기열을 통과한 마지막 토큰의 순번 조회 후, 본인 토큰의 순번 update
-        long lastNum = 0L;
-        List<Token> activeTokens = findActiveTokensByConcertId(concertId);
-        if(!activeTokens.isEmpty()){
-            lastNum = activeTokens.get(0).getWaitNumber();
+        // 순번은 서버별 블록으로 나눠 발급되어 중간이 비므로, 순번 차이가 아니라 내 차선에서 앞선 대기자 수로 계산 (1이면 다음 통과 대상)
+        // (concert_id, lane, status, wait_number) 인덱스 범위 COUNT라 앞선 인원에 비례한다. 촘촘한 순번이 필요하면 Redis 엔진을 쓴다
+        long position = 0;
+        if("PENDING".equals(targetToken.getStatus())) {
+            position = tokenRepository.countPendingTokensAhead(concertId, targetToken.getLane(), targetToken.getWaitNumber()) + 1;
         }
 
         return new Token(
                 targetToken.getTokenId(),
-                targetToken.getConcertId(),
                 targetToken.getCustomerId(),
-                targetToken.getWaitNumber() - lastNum,
+                targetToken.getConcertId(),
+                position,
                 targetToken.getStatus(),
                 targetToken.getCreatedAt(),
                 null
@@ -126,46 +615,55 @@ public class TokenService {
     }
 
     // 레디스 대기열 조회
-    public RedisToken checkTokenWithRedis(long customerId) {
-
-        // Redis의 ZSetOperations를 사용하여 ZSet 가져오기
-        ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
-        log.info("Service == 고객 ID : {}", customerId);
-
-        // 고객의 토큰을 ZSet에서 찾기
-        Set<ZSetOperations.TypedTuple<Object>> zSet = zSetOps.rangeWithScores(QUEUE_PREFIX, 0, -1);
-        String targetValue = "";
-        RedisToken targetToken = null;
-        RedisToken newToken = null;
-        log.info("zSet 크기 : {}", zSet.size());
-        if (zSet != null) {
-            for (ZSetOperations.TypedTuple<Object> tuple : zSet) {
-                String value = (String) tuple.getValue();
-                log.info("value : {}", value);
-                try {
-                    // JSON 문자열을 파싱하여 원하는 필드를 추출
-                    targetToken = objectMapper.readValue(value, RedisToken.class);
-                    if (targetToken.getCustomerId() == customerId) {
-                        log.info("Service == 찾은 고객 ID : {}", targetToken.getCustomerId());
-                        targetValue =  value; // JSON 문자열 반환
-                        newToken = targetToken;
-                        log.info("target value : {}", targetValue);
-                    }
-                } catch (IOException e) {
-                    log.error("예외 발생 오류 메시지 : {}", e.getMessage());
-                }
-            }
+    public RedisToken checkTokenWithRedis(long customerId, long concertId) {
+        log.info("Service == 고객 ID : {}, 콘서트 ID : {}", customerId, concertId);
+
+        if(queueShards > 1) {
+            return checkTokenInShards(customerId, concertId);
         }
 
-        long rank = -1;
-        if(targetValue.isEmpty()) {
+        // 고객 인덱스에서 멤버를 찾고 내 차선의 통과 순번과의 차이로 순번 계산
+        List<String> keys = new ArrayList<>(List.of(queueKey(concertId) + QUEUE_CUSTOMER_INDEX, queueKey(concertId) + QUEUE_HEARTBEAT));
+        keys.addAll(laneKeys(concertId));
+        List<Object> result = executeScript(QUEUE_RANK_SCRIPT, keys, RedisToken.customerField(customerId), bytes(System.currentTimeMillis()));
+
+        if(result == null || result.size() < 2) {
             throw new CoreException(ErrorCode.TOKEN_NOT_FOUND);
-        } else {
-            rank = zSetOps.rank(QUEUE_PREFIX, targetValue);
         }
 
+        RedisToken targetToken = redisTokenSerializer.deserialize((byte[]) result.get(0));
+        long rank = (Long) result.get(1);
+        int lane = queueLaneProperties.lanes().get(((Long) result.get(2)).intValue());
+
         // 토큰 순서를 계산해서 리턴
-        return new RedisToken(newToken.getCustomerId(), newToken.getTokenID(), rank);
+        return new RedisToken(targetToken.getCustomerId(), targetToken.getTokenID(), rank, lane);
+    }
+
+    // 분할 대기열 순번 조회
+    // 내 분할에서 순번을 찾은 뒤, 모든 분할에서 나보다 앞선 순번의 인원을 한 번의 파이프라인으로 세어 합산 (분할당 O(log N))
+    private RedisToken checkTokenInShards(long customerId, long concertId) {
+        String shardKey = shardKey(concertId, shardOf(customerId));
+        List<Object> result = executeScript(
+                SHARD_MEMBER_SCRIPT,
+                List.of(shardKey, shardKey + QUEUE_CUSTOMER_INDEX, shardKey + QUEUE_HEARTBEAT),
+                RedisToken.customerField(customerId), bytes(System.currentTimeMillis())
+        );
+
+        if(result == null || result.size() < 2) {
+            throw new CoreException(ErrorCode.TOKEN_NOT_FOUND);
+        }
+
+        RedisToken targetToken = redisTokenSerializer.deserialize((byte[]) result.get(0));
+        double ticket = Double.parseDouble(new String((byte[]) result.get(1), StandardCharsets.UTF_8));
+        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(int shard = 0; shard < queueShards; shard++) {
+                connection.zSetCommands().zCount(shardKey(concertId, shard).getBytes(StandardCharsets.UTF_8), Double.NEGATIVE_INFINITY, ticket - 1);
+            }
+            return null;
+        });
+        long rank = counts.stream().mapToLong(count -> count instanceof Long ? (Long) count : 0L).sum();
+
+        return new RedisToken(targetToken.getCustomerId(), targetToken.getTokenID(), rank);
     }
 
     // 콘서트 별 활성화 토큰 조회
@@ -193,37 +691,99 @@ public class TokenService {
 
     // 레디스 토큰 활성화 여부 조회
     public boolean isActiveTokenWithRedis(UUID tokenId) {
-        // Redis의 ZSetOperations를 사용하여 ZSet 가져오기
-        ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
-        log.info("Service == 고객 ID : {}", tokenId);
-
-        // 고객의 토큰을 ZSet에서 찾기
-        Set<ZSetOperations.TypedTuple<Object>> zSet = zSetOps.rangeWithScores(ACTIVE_PREFIX, 0, -1);
-        String targetValue = "";
-        RedisToken targetToken = null;
-        log.info("zSet 크기 : {}", zSet.size());
-        if (zSet != null) {
-            for (ZSetOperations.TypedTuple<Object> tuple : zSet) {
-                String value = (String) tuple.getValue();
-                log.info("value : {}", value);
-                try {
-                    // JSON 문자열을 파싱하여 원하는 필드를 추출
-                    targetToken = objectMapper.readValue(value, RedisToken.class);
-                    log.info("UUID : {}", tokenId);
-                    log.info("tokenID : {}", targetToken.getTokenID());
-                    if (targetToken.getTokenID().equals(tokenId)) {
-                        log.info("Service == 찾은 고객 ID : {}", targetToken.getTokenID());
-                        targetValue =  value; // JSON 문자열 반환
-                        log.info("target value : {}", targetValue);
-
-                        return true;
+        // 토큰별 키의 존재 여부로 활성화 확인 (만료는 키 TTL로 처리)
+        Boolean active = redisTemplate.hasKey(ACTIVE_TOKEN_PREFIX + tokenId);
+        return Boolean.TRUE.equals(active);
+    }
+
+    // 레디스 활성화 토큰의 만료 시각 조회 (활성화 시각 + 유지 시간, 비활성화 토큰은 0)
+    public long findActiveTokenExpiresAtWithRedis(UUID tokenId) {
+        Long ttl = redisTemplate.getExpire(ACTIVE_TOKEN_PREFIX + tokenId, TimeUnit.MILLISECONDS);
+        if(ttl == null || ttl <= 0) {
+            return 0L;
+        }
+        return System.currentTimeMillis() + ttl;
+    }
+
+    // 레디스 활성화 토큰 회수 후 다른 서버에 무효화 알림
+    public void revokeTokenWithRedis(long concertId, UUID tokenId) {
+        Object customerId = redisTemplate.opsForValue().get(ACTIVE_TOKEN_PREFIX + tokenId);
+        if(customerId == null) {
+            throw new CoreException(ErrorCode.TOKEN_NOT_FOUND);
+        }
+
+        RedisToken revokedToken = new RedisToken(Long.parseLong((String) customerId), tokenId);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zRem(activeKey(concertId).getBytes(StandardCharsets.UTF_8), redisTokenSerializer.serialize(revokedToken));
+            return null;
+        });
+        redisTemplate.delete(ACTIVE_TOKEN_PREFIX + tokenId);
+
+        // 서명된 접근 토큰은 만료 시각까지 스스로 유효하므로, 새로 뜨는 서버도 알 수 있게 회수 목록에 남긴다
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add(REVOKED_TOKENS_KEY, tokenId.toString(), now);
+        redisTemplate.opsForZSet().removeRangeByScore(REVOKED_TOKENS_KEY, Double.NEGATIVE_INFINITY, now - ACTIVE_TOKEN_TTL_MILLIS);
+        redisTemplate.convertAndSend(TOKEN_REVOKED_CHANNEL, tokenId.toString());
+        log.info("[토큰 회수] 콘서트 ID: {}, 토큰 ID: {}", concertId, tokenId);
+    }
+
+    // 등록된 콘서트의 레디스 활성화 토큰 ID 전체 (서버 기동 시 활성화 토큰 필터 적재용)
+    public List<UUID> findActiveTokenIdsWithRedis() {
+        List<UUID> tokenIds = new ArrayList<>();
+        for(long concertId : findLiveConcertIdsWithRedis()) {
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                Set<byte[]> members = connection.zSetCommands().zRange(activeKey(concertId).getBytes(StandardCharsets.UTF_8), 0, -1);
+                if(members != null) {
+                    for(byte[] member : members) {
+                        tokenIds.add(redisTokenSerializer.deserialize(member).getTokenID());
                     }
-                } catch (IOException e) {
-                    log.error("예외 발생 오류 메시지 : {}", e.getMessage());
+                }
+                return null;
+            });
+        }
+        return tokenIds;
+    }
+
+    // 활성화 유지 시간 안에 회수된 토큰 ID와 회수 시각
+    public Map<UUID, Long> findRecentlyRevokedTokensWithRedis() {
+        long since = System.currentTimeMillis() - ACTIVE_TOKEN_TTL_MILLIS;
+        Set<ZSetOperations.TypedTuple<Object>> revoked = redisTemplate.opsForZSet().rangeByScoreWithScores(REVOKED_TOKENS_KEY, since, Double.POSITIVE_INFINITY);
+        Map<UUID, Long> revokedAtByToken = new HashMap<>();
+        if(revoked != null) {
+            for(ZSetOperations.TypedTuple<Object> tuple : revoked) {
+                if(tuple.getValue() != null && tuple.getScore() != null) {
+                    revokedAtByToken.put(UUID.fromString((String) tuple.getValue()), tuple.getScore().longValue());
                 }
             }
         }
-        return false;
+        return revokedAtByToken;
+    }
+
+    // 레디스 활성화 토큰의 접근 토큰 내용 조회 (해당 콘서트의 활성화 토큰이 아니면 UNAUTHORIZED)
+    // 만료 시각은 활성화 토큰별 키의 남은 TTL에 맞춘다
+    public AccessTokenClaims findActiveTokenClaimsWithRedis(long concertId, UUID tokenId) {
+        String tokenKey = ACTIVE_TOKEN_PREFIX + tokenId;
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] key = tokenKey.getBytes(StandardCharsets.UTF_8);
+            connection.stringCommands().get(key);
+            connection.keyCommands().pTtl(key);
+            return null;
+        });
+        Object customerId = results.get(0);
+        Object ttl = results.get(1);
+        if(customerId == null || !(ttl instanceof Long) || (Long) ttl <= 0) {
+            throw new CoreException(ErrorCode.UNAUTHORIZED);
+        }
+
+        RedisToken activeToken = new RedisToken(Long.parseLong((String) customerId), tokenId);
+        Double activatedAt = redisTemplate.execute((RedisCallback<Double>) connection ->
+                connection.zSetCommands().zScore(activeKey(concertId).getBytes(StandardCharsets.UTF_8), redisTokenSerializer.serialize(activeToken)));
+        if(activatedAt == null) {
+            throw new CoreException(ErrorCode.UNAUTHORIZED);
+        }
+
+        long now = System.currentTimeMillis();
+        return new AccessTokenClaims(tokenId, activeToken.getCustomerId(), concertId, now, now + (Long) ttl);
     }
 
     // 고객 ID로 토큰 조회
@@ -232,78 +792,556 @@ public class TokenService {
     }
 
     // 토큰 활성화 (대기열 통과)
-    public List<Token> activeToken(long concertId, int size) {
+    @Transactional
+    public int activeToken(long concertId, int size) {
+        return sumOf(activeTokenByLane(concertId, size));
+    }
 
-        List<Token> waitingTokens = tokenRepository.findPendingTokensByConcertId(concertId);
-        List<Token> activeTokens = findActiveTokensByConcertId(concertId);
-        for(Token nextToken : waitingTokens){
-            if(activeTokens.size() >= size){
-                return activeTokens;
+    // 차선별 토큰 활성화
+    // 빈 슬롯을 차선별 가중치로 나눠 차선마다 대기 순번이 빠른 토큰을 한 번의 UPDATE로 활성화하고 차선별 활성화 인원 반환
+    // 몫을 다 채우지 못한 차선은 대기자가 바닥난 것이므로 빼고 남은 자리를 다른 차선에 다시 나눈다 (반복은 차선 수 이하)
+    @Transactional
+    public Map<Integer, Integer> activeTokenByLane(long concertId, int size) {
+
+        long emptyActive = size - tokenRepository.countActiveTokensByConcertId(concertId);
+        if(emptyActive <= 0) {
+            return Map.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> openLanes = new ArrayList<>(queueLaneProperties.lanes());
+        Map<Integer, Integer> admittedByLane = new LinkedHashMap<>();
+        int remaining = (int) emptyActive;
+        while(remaining > 0 && !openLanes.isEmpty()) {
+            for(Map.Entry<Integer, Integer> share : queueLaneProperties.split(remaining, openLanes).entrySet()) {
+                if(share.getValue() == 0) {
+                    continue;
+                }
+                int admitted = tokenRepository.activatePendingTokens(concertId, share.getKey(), share.getValue(), now);
+                if(admitted > 0) {
+                    admittedByLane.merge(share.getKey(), admitted, Integer::sum);
+                }
+                if(admitted < share.getValue()) {
+                    openLanes.remove(share.getKey());
+                }
+                remaining -= admitted;
             }
+        }
+        return admittedByLane;
+    }
+
+    // 레디스 토큰 활성화 (대기열 통과)
+    public int activeTokenWithRedis(long concertId, int size) {
+        return sumOf(activeTokenByLaneWithRedis(concertId, size));
+    }
 
-            nextToken.markAsActive();
+    // 레디스 차선별 토큰 활성화 (분할 대기열은 기본 차선 하나)
+    // 떠난 대기자가 활성화 슬롯을 차지하지 않도록 호출한 쪽에서 먼저 evictAbandonedWithRedis를 실행한다
+    public Map<Integer, Integer> activeTokenByLaneWithRedis(long concertId, int size) {
+        long now = System.currentTimeMillis();
+        if(queueShards > 1) {
+            int activated = activateShardHeads(concertId, popShardHeads(concertId, size, now), now);
+            return activated > 0 ? Map.of(QueueLaneProperties.DEFAULT_LANE, activated) : Map.of();
+        }
 
-            this.save(nextToken);
-            activeTokens.add(nextToken);
+        // 빈 슬롯을 차선별 가중치로 나눠 대기열에서 꺼내 활성화 ZSet으로 옮기는 작업을 Redis에서 원자적으로 수행
+        List<String> keys = new ArrayList<>(List.of(activeKey(concertId), queueKey(concertId) + QUEUE_CUSTOMER_INDEX, queueKey(concertId) + QUEUE_TOKEN_INDEX, queueKey(concertId) + QUEUE_HEARTBEAT));
+        keys.addAll(laneKeys(concertId));
+        keys.add(queueKey(concertId) + QUEUE_ADMITTING);
+        List<byte[]> args = new ArrayList<>(List.of(bytes(size), bytes(now)));
+        for(int lane : queueLaneProperties.lanes()) {
+            args.add(bytes(queueLaneProperties.weightOf(lane)));
         }
+        List<Object> result = executeScript(ADMIT_TOKENS_SCRIPT, keys, args.toArray(byte[][]::new));
+        if(result == null || result.size() < 3) {
+            return Map.of();
+        }
+        List<?> admitted = (List<?>) result.get(0);
+        List<?> laneCounts = (List<?>) result.get(1);
+        List<?> staged = (List<?>) result.get(2);
 
-        return activeTokens;
+        // 이번에 통과한 멤버와, 이전 호출이 토큰별 키를 기록하지 못한 멤버(남은 유지 시간만큼)의 키를 기록
+        List<StagedAdmission> admissions = new ArrayList<>();
+        for(Object member : admitted) {
+            admissions.add(new StagedAdmission((byte[]) member, 0, now));
+        }
+        for(int i = 0; i + 1 < staged.size(); i += 2) {
+            admissions.add(new StagedAdmission((byte[]) staged.get(i), 0, (long) Double.parseDouble(new String((byte[]) staged.get(i + 1), StandardCharsets.UTF_8))));
+        }
+        writeActiveTokenKeys(concertId, admissions, now);
+        if(admitted.isEmpty()) {
+            return Map.of();
+        }
+        // 스크립트는 차선 번호 오름차순(laneKeys와 같은 순서)으로 차선별 통과 인원을 돌려준다
+        Map<Integer, Integer> admittedByLane = new LinkedHashMap<>();
+        List<Integer> lanes = queueLaneProperties.lanes();
+        for(int i = 0; i < laneCounts.size(); i++) {
+            int count = ((Long) laneCounts.get(i)).intValue();
+            if(count > 0) {
+                admittedByLane.put(lanes.get(i), count);
+            }
+        }
+
+        return admittedByLane;
     }
 
-    // 레디스 토큰 활성화 (대기열 통과)
-    public void activeTokenWithRedis(int size) {
-        ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
-        Set<ZSetOperations.TypedTuple<Object>> zSetQueue = zSetOps.rangeWithScores(QUEUE_PREFIX, 0, -1);
-        int emptyActive = 0;
-        if(zSetQueue != null) {
-            Set<ZSetOperations.TypedTuple<Object>> zSetActive = zSetOps.rangeWithScores(ACTIVE_PREFIX, 0, -1);
-            if(zSetActive != null) {
-                emptyActive = size - zSetActive.size();
-                for(int i = 0; i < emptyActive; i++) {
-                    ZSetOperations.TypedTuple<Object> minScoreItem = zSetQueue.stream().min(Comparator.comparingDouble(ZSetOperations.TypedTuple::getScore)).orElse(null);
-                    zSetOps.add(ACTIVE_PREFIX, minScoreItem.getValue(), System.currentTimeMillis());
-                    log.info("[토큰 활성화] {}", minScoreItem.getValue());
-                    zSetOps.remove(QUEUE_PREFIX, minScoreItem.getValue());
+    // 활성화된 토큰별 키 기록과 다른 서버 알림을 한 번의 파이프라인으로 보내고, 마지막에 통과 대기 ZSet에서 지움
+    // 토큰별 키는 해시 태그가 없어(토큰 ID만으로 조회) 활성화 스크립트 안에서 쓸 수 없으므로,
+    // 기록 전에 서버가 멈추면 통과 대기 ZSet에 남은 멤버를 다음 활성화 때 다시 기록한다
+    private void writeActiveTokenKeys(long concertId, List<StagedAdmission> admissions, long now) {
+        if(admissions.isEmpty()) {
+            return;
+        }
+        ByteBuffer admittedIds = ByteBuffer.allocate(admissions.size() * 16);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(StagedAdmission admission : admissions) {
+                long remainingMillis = admission.admittedAt() + ACTIVE_TOKEN_TTL_MILLIS - now;
+                if(remainingMillis <= 0) {
+                    continue;
                 }
+                RedisToken activeToken = redisTokenSerializer.deserialize(admission.member());
+                log.info("[토큰 활성화] 고객 ID: {}, 토큰 ID: {}", activeToken.getCustomerId(), activeToken.getTokenID());
+                connection.stringCommands().set(
+                        (ACTIVE_TOKEN_PREFIX + activeToken.getTokenID()).getBytes(StandardCharsets.UTF_8),
+                        bytes(activeToken.getCustomerId()),
+                        Expiration.milliseconds(remainingMillis),
+                        RedisStringCommands.SetOption.upsert()
+                );
+                admittedIds.putLong(activeToken.getTokenID().getMostSignificantBits())
+                        .putLong(activeToken.getTokenID().getLeastSignificantBits());
             }
+            if(admittedIds.position() > 0) {
+                connection.publish(TOKEN_ADMITTED_CHANNEL.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(admittedIds.array(), admittedIds.position()));
+            }
+            connection.zSetCommands().zRem((queueKey(concertId) + QUEUE_ADMITTING).getBytes(StandardCharsets.UTF_8),
+                    admissions.stream().map(StagedAdmission::member).toArray(byte[][]::new));
+            return null;
+        });
+    }
+
+    // 하트비트가 끊긴 대기자 제거 (콘서트별 sweep-interval-millis에 한 번, 분할 대기열은 분할마다 한 번의 파이프라인으로)
+    // 차선 번호 -> 제거 당시 순번 목록 (제거한 순서대로, 앞의 제거가 반영된 순번이며 알 수 없으면 QueueAdmission.UNKNOWN_POSITION)
+    public Map<Integer, List<Long>> evictAbandonedWithRedis(long concertId, long now) {
+        if(!heartbeatEnabled || now < nextSweepAt.getOrDefault(concertId, 0L)) {
+            return Map.of();
+        }
+        nextSweepAt.put(concertId, now + heartbeatSweepIntervalMillis);
+
+        byte[] cutoff = bytes(now - heartbeatTimeoutMillis);
+        byte[] limit = bytes(heartbeatSweepLimit);
+        List<Object> evictedEntries = new ArrayList<>();
+        if(queueShards > 1) {
+            byte[] script = EVICT_ABANDONED_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for(int shard = 0; shard < queueShards; shard++) {
+                    List<byte[]> shardKeys = shardIndexKeys(shardKey(concertId, shard));
+                    List<byte[]> keysAndArgs = new ArrayList<>(List.of(shardKeys.get(1), shardKeys.get(2), shardKeys.get(3), shardKeys.get(0)));
+                    keysAndArgs.add(cutoff);
+                    keysAndArgs.add(limit);
+                    keysAndArgs.add(bytes(1));
+                    connection.scriptingCommands().eval(script, ReturnType.MULTI, 4, keysAndArgs.toArray(byte[][]::new));
+                }
+                return null;
+            });
+            for(Object result : results) {
+                if(result instanceof List<?> entries) {
+                    evictedEntries.addAll(entries);
+                }
+            }
+        } else {
+            List<String> keys = new ArrayList<>(List.of(queueKey(concertId) + QUEUE_CUSTOMER_INDEX, queueKey(concertId) + QUEUE_TOKEN_INDEX, queueKey(concertId) + QUEUE_HEARTBEAT));
+            for(int lane : queueLaneProperties.lanes()) {
+                keys.add(laneKey(concertId, lane));
+                keys.add(laneKey(concertId, lane) + QUEUE_EVICTED);
+            }
+            List<Object> result = executeScript(EVICT_ABANDONED_SCRIPT, keys, cutoff, limit, bytes(2));
+            if(result != null) {
+                evictedEntries.addAll(result);
+            }
+        }
+
+        Map<Integer, List<Long>> evictedPositionsByLane = new LinkedHashMap<>();
+        List<Integer> lanes = queueLaneProperties.lanes();
+        for(int i = 0; i + 1 < evictedEntries.size(); i += 2) {
+            int lane = lanes.get(((Long) evictedEntries.get(i)).intValue());
+            evictedPositionsByLane.computeIfAbsent(lane, key -> new ArrayList<>()).add((Long) evictedEntries.get(i + 1));
+        }
+
+        long evicted = evictedEntries.size() / 2;
+        if(evicted > 0) {
+            redisTemplate.execute((RedisCallback<Object>) connection ->
+                    connection.hashCommands().hIncrBy(EVICTED_COUNT_KEY.getBytes(StandardCharsets.UTF_8), bytes(concertId), evicted));
+            log.info("[대기자 제거] 콘서트 ID: {}, 하트비트 끊김 {}건", concertId, evicted);
         }
+        return evictedPositionsByLane;
     }
 
-    // 토큰 만료
-    public List<Token> expireToken(long concertId) {
+    // 대기자 하트비트 갱신 (대기 중인 고객만, 이미 통과했거나 참가하지 않은 고객은 무시)
+    public void heartbeatWithRedis(long concertId, Collection<Long> customerIds) {
+        long now = System.currentTimeMillis();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(long customerId : customerIds) {
+                String key = (queueShards > 1 ? shardKey(concertId, shardOf(customerId)) : queueKey(concertId)) + QUEUE_HEARTBEAT;
+                connection.zSetCommands().zAdd(key.getBytes(StandardCharsets.UTF_8), now, RedisToken.customerField(customerId), RedisZSetCommands.ZAddArgs.ifExists());
+            }
+            return null;
+        });
+    }
+
+    // 하트비트가 끊겨 제거한 누적 인원 (콘서트 ID -> 인원)
+    public Map<Long, Long> findEvictedCountsWithRedis() {
+        Map<byte[], byte[]> counts = redisTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection ->
+                connection.hashCommands().hGetAll(EVICTED_COUNT_KEY.getBytes(StandardCharsets.UTF_8)));
+        Map<Long, Long> evictedByConcert = new HashMap<>();
+        if(counts != null) {
+            counts.forEach((concertId, count) -> evictedByConcert.put(
+                    Long.parseLong(new String(concertId, StandardCharsets.UTF_8)), Long.parseLong(new String(count, StandardCharsets.UTF_8))));
+        }
+        return evictedByConcert;
+    }
 
-        List<Token> tokens = findActiveTokensByConcertId(concertId);
+    public boolean isHeartbeatEnabled() {
+        return heartbeatEnabled;
+    }
 
-        return tokens.stream()
-                .filter(Token::isExpired)
-                .peek(token -> {
-                    token.markAsExpired();
-                    this.save(token);
-                })
-                .collect(Collectors.toList());
+    public long getHeartbeatTimeoutMillis() {
+        return heartbeatTimeoutMillis;
+    }
+
+    // 분할 대기열 통과 (활성화 ZSet 추가는 activateShardHeads에서)
+    // 빈 슬롯 수만큼 각 분할의 앞부분 순번을 읽어 합친 뒤 전체에서 순번이 빠른 인원을 분할별로 나눠 꺼낸다
+    // 이전 주기에 꺼냈지만 활성화하지 못한 멤버(통과 대기 ZSet)도 같은 파이프라인으로 읽어 꺼낸 시각 그대로 다시 활성화한다
+    // 통과는 임대를 가진 스케줄러 하나만 수행하므로 읽기와 꺼내기 사이에 다른 통과가 끼어들지 않는다
+    private List<StagedAdmission> popShardHeads(long concertId, int size, long now) {
+        Long activeCount = redisTemplate.opsForZSet().zCard(activeKey(concertId));
+        int slots = size - (activeCount == null ? 0 : activeCount.intValue());
+
+        List<Object> heads = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(int shard = 0; shard < queueShards; shard++) {
+                String shardKey = shardKey(concertId, shard);
+                connection.zSetCommands().zRangeWithScores((shardKey + QUEUE_ADMITTING).getBytes(StandardCharsets.UTF_8), 0, -1);
+                connection.zSetCommands().zRangeWithScores(shardKey.getBytes(StandardCharsets.UTF_8), 0, Math.max(slots, 1) - 1);
+            }
+            return null;
+        }, BYTES);
+
+        // 남아 있던 통과 대기 멤버가 먼저 빈 슬롯을 차지한다
+        List<StagedAdmission> admissions = new ArrayList<>();
+        for(int shard = 0; shard < queueShards; shard++) {
+            for(Object tuple : (Set<?>) heads.get(shard * 2)) {
+                ZSetOperations.TypedTuple<?> staged = (ZSetOperations.TypedTuple<?>) tuple;
+                admissions.add(new StagedAdmission((byte[]) staged.getValue(), shard, staged.getScore().longValue()));
+            }
+        }
+        int free = slots - admissions.size();
+        if(free <= 0) {
+            return admissions;
+        }
+
+        // {순번, 분할}을 순번 순으로 정렬해 앞에서 free명의 분할별 인원 계산
+        List<double[]> candidates = new ArrayList<>();
+        for(int shard = 0; shard < queueShards; shard++) {
+            for(Object tuple : (Set<?>) heads.get(shard * 2 + 1)) {
+                candidates.add(new double[]{((ZSetOperations.TypedTuple<?>) tuple).getScore(), shard});
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(candidate -> candidate[0]));
+        int[] popCounts = new int[queueShards];
+        for(int i = 0; i < Math.min(free, candidates.size()); i++) {
+            popCounts[(int) candidates.get(i)[1]]++;
+        }
+
+        byte[] script = SHARD_POP_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        List<Integer> poppedShards = new ArrayList<>();
+        List<Object> popped = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(int shard = 0; shard < queueShards; shard++) {
+                if(popCounts[shard] > 0) {
+                    String shardKey = shardKey(concertId, shard);
+                    List<byte[]> keysAndArgs = new ArrayList<>(shardIndexKeys(shardKey));
+                    keysAndArgs.add((shardKey + QUEUE_ADMITTING).getBytes(StandardCharsets.UTF_8));
+                    keysAndArgs.add(bytes(popCounts[shard]));
+                    keysAndArgs.add(bytes(now));
+                    connection.scriptingCommands().eval(script, ReturnType.MULTI, 5, keysAndArgs.toArray(byte[][]::new));
+                    poppedShards.add(shard);
+                }
+            }
+            return null;
+        }, BYTES);
+
+        for(int i = 0; i < popped.size(); i++) {
+            for(Object member : (List<?>) popped.get(i)) {
+                admissions.add(new StagedAdmission((byte[]) member, poppedShards.get(i), now));
+            }
+        }
+        return admissions;
+    }
+
+    // 분할 대기열에서 꺼낸 멤버를 활성화 ZSet에 추가하고 통과 대기 ZSet에서 지움 (분할 대기열은 활성화 ZSet과 슬롯이 달라 한 스크립트로 묶을 수 없다)
+    // 파이프라인은 보낸 순서대로 실행되므로, 통과 대기 ZSet 정리는 활성화 명령이 모두 전달된 뒤에만 실행된다
+    // 통과 대기 중에 유지 시간이 지난 멤버는 활성화하지 않고 지운다
+    private int activateShardHeads(long concertId, List<StagedAdmission> admissions, long now) {
+        if(admissions.isEmpty()) {
+            return 0;
+        }
+
+        int[] activated = {0};
+        ByteBuffer admittedIds = ByteBuffer.allocate(admissions.size() * 16);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            Map<Integer, List<byte[]>> stagedByShard = new HashMap<>();
+            for(StagedAdmission admission : admissions) {
+                stagedByShard.computeIfAbsent(admission.shard(), shard -> new ArrayList<>()).add(admission.member());
+                long remainingMillis = admission.admittedAt() + ACTIVE_TOKEN_TTL_MILLIS - now;
+                if(remainingMillis <= 0) {
+                    continue;
+                }
+                connection.zSetCommands().zAdd(activeKey(concertId).getBytes(StandardCharsets.UTF_8), admission.admittedAt(), admission.member(), RedisZSetCommands.ZAddArgs.empty());
+                RedisToken activeToken = redisTokenSerializer.deserialize(admission.member());
+                log.info("[토큰 활성화] 고객 ID: {}, 토큰 ID: {}", activeToken.getCustomerId(), activeToken.getTokenID());
+                connection.stringCommands().set(
+                        (ACTIVE_TOKEN_PREFIX + activeToken.getTokenID()).getBytes(StandardCharsets.UTF_8),
+                        bytes(activeToken.getCustomerId()),
+                        Expiration.milliseconds(remainingMillis),
+                        RedisStringCommands.SetOption.upsert()
+                );
+                admittedIds.putLong(activeToken.getTokenID().getMostSignificantBits())
+                        .putLong(activeToken.getTokenID().getLeastSignificantBits());
+                activated[0]++;
+            }
+            if(admittedIds.position() > 0) {
+                connection.publish(TOKEN_ADMITTED_CHANNEL.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(admittedIds.array(), admittedIds.position()));
+            }
+            stagedByShard.forEach((shard, members) -> connection.zSetCommands().zRem(
+                    (shardKey(concertId, shard) + QUEUE_ADMITTING).getBytes(StandardCharsets.UTF_8), members.toArray(byte[][]::new)));
+            return null;
+        });
+
+        return activated[0];
+    }
+
+    // 대기열에서 꺼내 통과 대기 ZSet에 남긴 멤버 (분할 번호(분할하지 않으면 0), 꺼낸 시각)
+    private record StagedAdmission(byte[] member, int shard, long admittedAt) {
+    }
+
+    // 대기 중이거나 활성화된 토큰 존재 여부
+    public boolean hasLiveTokens(long concertId) {
+        return tokenRepository.existsLiveTokenByConcertId(concertId);
+    }
+
+    // 대기 중이거나 활성화된 토큰이 있는 콘서트 ID
+    @Transactional(readOnly = true)
+    public List<Long> findLiveConcertIds() {
+        return tokenRepository.findLiveConcertIds();
+    }
+
+    // 레디스 대기열/활성화 토큰이 있는 콘서트 ID
+    public List<Long> findLiveConcertIdsWithRedis() {
+        Set<Object> members = redisTemplate.opsForSet().members(LIVE_CONCERTS_KEY);
+        if(members == null) {
+            return List.of();
+        }
+        return members.stream().map(member -> Long.parseLong((String) member)).toList();
+    }
+
+    // 콘서트의 통과 처리 요청 (처리 대기 목록 추가와 리더 알림을 한 번의 왕복으로)
+    public void markQueueChangedWithRedis(long concertId) {
+        executeScript(MARK_QUEUE_CHANGED_SCRIPT, List.of(CHANGED_CONCERTS_KEY), bytes(concertId), QUEUE_CHANGED_CHANNEL.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 처리 대기 콘서트 ID를 최대 count개 꺼냄 (리더 스케줄러용)
+    public List<Long> takeChangedConcertsWithRedis(int count) {
+        List<Object> members = redisTemplate.opsForSet().pop(CHANGED_CONCERTS_KEY, count);
+        if(members == null) {
+            return List.of();
+        }
+        return members.stream().map(member -> Long.parseLong((String) member)).toList();
+    }
+
+    // 대기열 통과 인원과 통과 직전 제거 순번을 모든 서버에 알림
+    // 순번은 차선마다 따로 매겨지므로 차선별로 보내, 구독자는 자기 차선에서 자기보다 앞선 제거 순번 수와 통과 인원만큼만 당긴다
+    public void publishAdmittedWithRedis(long concertId, QueueAdmission admission) {
+        if(admission.isEmpty()) {
+            return;
+        }
+        StringJoiner admitted = new StringJoiner(",");
+        admission.getAdmittedByLane().forEach((lane, count) -> admitted.add(lane + "=" + count));
+        StringJoiner evicted = new StringJoiner(",");
+        admission.getEvictedPositionsByLane().forEach((lane, positions) -> evicted.add(lane + "=" + positions.stream().map(String::valueOf).collect(Collectors.joining("."))));
+        redisTemplate.convertAndSend(QUEUE_ADMITTED_CHANNEL, concertId + ":" + admitted + ":" + evicted);
+    }
+
+    // 레디스 콘서트 등록 (참가 시)
+    public void registerLiveConcertWithRedis(long concertId) {
+        redisTemplate.opsForSet().add(LIVE_CONCERTS_KEY, String.valueOf(concertId));
+    }
+
+    // 대기열과 활성화 ZSet이 모두 비었으면 콘서트 등록 해제
+    // 해제와 참가가 겹칠 수 있으므로 해제 후 한 번 더 확인해 남아 있으면 다시 등록한다
+    public void releaseIfIdleWithRedis(long concertId) {
+        if(hasLiveTokensWithRedis(concertId)) {
+            return;
+        }
+        redisTemplate.opsForSet().remove(LIVE_CONCERTS_KEY, String.valueOf(concertId));
+        if(hasLiveTokensWithRedis(concertId)) {
+            registerLiveConcertWithRedis(concertId);
+        }
+    }
+
+    // 레디스 대기열/활성화 ZSet에 토큰이 남아 있는지 여부 (대기열마다 ZCARD와 활성화 ZCARD를 한 번의 파이프라인으로)
+    public boolean hasLiveTokensWithRedis(long concertId) {
+        List<Object> sizes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            if(queueShards > 1) {
+                for(int shard = 0; shard < queueShards; shard++) {
+                    connection.zSetCommands().zCard(shardKey(concertId, shard).getBytes(StandardCharsets.UTF_8));
+                    // 활성화하지 못한 통과 대기 멤버가 남아 있으면 다음 주기에도 처리하도록 등록 유지
+                    connection.zSetCommands().zCard((shardKey(concertId, shard) + QUEUE_ADMITTING).getBytes(StandardCharsets.UTF_8));
+                }
+            } else {
+                for(int lane : queueLaneProperties.lanes()) {
+                    connection.zSetCommands().zCard(laneKey(concertId, lane).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            connection.zSetCommands().zCard(activeKey(concertId).getBytes(StandardCharsets.UTF_8));
+            return null;
+        });
+        return sizes.stream().anyMatch(size -> size instanceof Long && (Long) size > 0);
+    }
+
+    // 토큰 만료
+    // 유지 시간이 지난 활성화 토큰을 한 번의 UPDATE로 만료하고 만료 인원 반환
+    @Transactional
+    public int expireToken(long concertId) {
+
+        LocalDateTime now = LocalDateTime.now();
+        return tokenRepository.expireActiveTokens(concertId, now.minusSeconds(Token.ACTIVE_SECONDS), now);
     }
 
     // 레디스 토큰 만료
-    public void expireTokenWithRedis() {
+    public long expireTokenWithRedis(long concertId) {
 
-        // Redis의 ZSetOperations를 사용하여 Active ZSet 가져오기
-        long now = System.currentTimeMillis();
-        ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
-        Set<ZSetOperations.TypedTuple<Object>> zSet = zSetOps.rangeWithScores(ACTIVE_PREFIX, 0, -1);
-
-        // 10분 지난 토큰 만료
-        if (zSet != null) {
-            for (ZSetOperations.TypedTuple<Object> tuple : zSet) {
-                String value = (String) tuple.getValue();
-                Double score = tuple.getScore() + 60000;
-                if(score < now) {
-                    zSetOps.remove(ACTIVE_PREFIX, value);
-                    log.info("[토큰 만료] {}", value);
+        // 활성화 시각(score)이 유지 시간보다 오래된 토큰을 한 번에 제거
+        // 토큰별 키는 같은 TTL로 기록되므로 Redis에서 스스로 만료된다
+        long expiredBefore = System.currentTimeMillis() - ACTIVE_TOKEN_TTL_MILLIS;
+        Long removed = redisTemplate.opsForZSet().removeRangeByScore(activeKey(concertId), Double.NEGATIVE_INFINITY, expiredBefore);
+        long expired = removed == null ? 0L : removed;
+        if(expired > 0) {
+            log.info("[토큰 만료] 콘서트 ID: {}, {}건", concertId, expired);
+        }
+
+        return expired;
+    }
+
+    // 이전 형식(JSON)으로 저장된 대기열/활성화 멤버를 바이너리 형식으로 변환
+    // 배포 시 한 번만 수행하며, 변환 전에도 JSON 멤버는 직렬화기에서 읽을 수 있다
+    public int migrateLegacyMembersWithRedis(long concertId) {
+        int migrated = 0;
+        List<String> queueKeys = List.of(queueKey(concertId), queueKey(concertId) + QUEUE_CUSTOMER_INDEX, queueKey(concertId) + QUEUE_TOKEN_INDEX);
+        migrated += migrateLegacyMembers(queueKeys);
+        migrated += migrateLegacyMembers(List.of(activeKey(concertId)));
+        if(migrated > 0) {
+            log.info("[토큰 마이그레이션] 콘서트 ID: {}, {}건", concertId, migrated);
+        }
+        return migrated;
+    }
+
+    private int migrateLegacyMembers(List<String> keys) {
+        List<byte[]> legacyMembers = new ArrayList<>();
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            Set<byte[]> members = connection.zSetCommands().zRange(keys.get(0).getBytes(StandardCharsets.UTF_8), 0, -1);
+            if(members != null) {
+                for(byte[] member : members) {
+                    if(member.length != RedisToken.ENCODED_SIZE) {
+                        legacyMembers.add(member);
+                    }
                 }
             }
+            return null;
+        });
+
+        int migrated = 0;
+        for(byte[] legacyMember : legacyMembers) {
+            RedisToken token = redisTokenSerializer.deserialize(legacyMember);
+            Long result = executeScript(MIGRATE_MEMBER_SCRIPT, keys, legacyMember, redisTokenSerializer.serialize(token),
+                    bytes(token.getCustomerId()), token.getTokenID().toString().getBytes(StandardCharsets.UTF_8));
+            if(result != null && result == 1L) {
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    // 바이너리 인자를 그대로 넘기는 Lua 스크립트 실행
+    @SuppressWarnings("unchecked")
+    private <T> T executeScript(RedisScript<T> script, List<String> keys, byte[]... args) {
+        return redisTemplate.execute(script, BYTES, (RedisSerializer<T>) (RedisSerializer<?>) BYTES, keys, (Object[]) args);
+    }
+
+
+    // 목록을 돌려주는 스크립트 (원소는 byte[] 또는 Long, List.class를 List<Object>로 바꾸는 것은 여기서만)
+    @SuppressWarnings("unchecked")
+    private static RedisScript<List<Object>> listScript(String script) {
+        return new DefaultRedisScript<>(script, (Class<List<Object>>) (Class<?>) List.class);
+    }
+
+    private static int sumOf(Map<Integer, Integer> admittedByLane) {
+        return admittedByLane.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static byte[] bytes(long value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 콘서트별 대기열 키
+    private static String queueKey(long concertId) {
+        return QUEUE_PREFIX + "{" + concertId + "}";
+    }
+
+    // 차선별 대기열 키 (기본 차선은 기존 대기열 키 그대로, 같은 해시 태그라 활성화 키와 같은 슬롯에 놓인다)
+    private static String laneKey(long concertId, int lane) {
+        return lane == QueueLaneProperties.DEFAULT_LANE ? queueKey(concertId) : queueKey(concertId) + QUEUE_LANE + lane;
+    }
+
+    // 차선 순서대로 {대기열, 통과 순번, 제거 기록} 키
+    private List<String> laneKeys(long concertId) {
+        List<String> keys = new ArrayList<>();
+        for(int lane : queueLaneProperties.lanes()) {
+            keys.add(laneKey(concertId, lane));
+            keys.add(laneKey(concertId, lane) + QUEUE_SERVED);
+            keys.add(laneKey(concertId, lane) + QUEUE_EVICTED);
+        }
+        return keys;
+    }
+
+    private void validateLane(int lane) {
+        if(!queueLaneProperties.hasLane(lane)) {
+            throw new CoreException(ErrorCode.LANE_NOT_FOUND);
         }
     }
 
+    // 분할 대기열 키 (분할마다 해시 태그가 달라 Redis Cluster에서 서로 다른 슬롯에 놓인다)
+    private static String shardKey(long concertId, int shard) {
+        return QUEUE_PREFIX + "{" + concertId + "#" + shard + "}";
+    }
+
+    // 분할 대기열 스크립트의 KEYS (ZSet, 고객 인덱스, 토큰 인덱스, 하트비트)
+    private static List<byte[]> shardIndexKeys(String shardKey) {
+        return List.of(
+                shardKey.getBytes(StandardCharsets.UTF_8),
+                (shardKey + QUEUE_CUSTOMER_INDEX).getBytes(StandardCharsets.UTF_8),
+                (shardKey + QUEUE_TOKEN_INDEX).getBytes(StandardCharsets.UTF_8),
+                (shardKey + QUEUE_HEARTBEAT).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    // 고객이 참가하는 분할
+    private int shardOf(long customerId) {
+        return (int) Math.floorMod(customerId, (long) queueShards);
+    }
+
+    // 콘서트별 활성화 키
+    private static String activeKey(long concertId) {
+        return ACTIVE_PREFIX + "{" + concertId + "}";
+    }
+
     // 토큰 저장 및 update
     public Token save(Token token) {
         return tokenRepository.save(token);
@@ -0,0 +1,91 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.repository.TokenSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 콘서트/차선별 대기 순번 발급 (hi-lo 방식)
+// DB 카운터에서 block-size개씩 순번 블록을 받아 두고, 블록 안에서는 AtomicLong으로 잠금 없이 발급한다
+// 순서 보장:
+// - 한 서버 안에서 같은 콘서트/차선의 순번은 발급 순서대로 커진다 (다음 블록은 DB 카운터가 늘어난 뒤의 구간)
+// - 순번은 서버 간에도 중복되지 않지만, 서버마다 블록이 달라 먼저 참가한 고객보다 작은 순번을 받을 수 있다
+//   블록은 받은 지 max-block-age-millis가 지나면 남은 순번을 버리고 새로 받으므로, 이렇게 앞지르는 경우는
+//   두 참가 시각의 차이가 max-block-age-millis보다 작을 때뿐이다
+@Service
+public class WaitNumberAllocator {
+
+    private final TokenSequenceRepository tokenSequenceRepository;
+
+    private final int blockSize;
+
+    private final long maxBlockAgeNanos;
+
+    private final Map<SequenceKey, BlockHolder> holders = new ConcurrentHashMap<>();
+
+    public WaitNumberAllocator(TokenSequenceRepository tokenSequenceRepository,
+                               @Value("${token.sequence.block-size:100}") int blockSize,
+                               @Value("${token.sequence.max-block-age-millis:1000}") long maxBlockAgeMillis) {
+        this.tokenSequenceRepository = tokenSequenceRepository;
+        this.blockSize = blockSize;
+        this.maxBlockAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxBlockAgeMillis);
+    }
+
+    public long next(long concertId) {
+        return next(concertId, QueueLaneProperties.DEFAULT_LANE);
+    }
+
+    public long next(long concertId, int lane) {
+        SequenceKey key = new SequenceKey(concertId, lane);
+        BlockHolder holder = holders.computeIfAbsent(key, k -> new BlockHolder());
+        while (true) {
+            Block block = holder.block;
+            if (block != null && System.nanoTime() - block.allocatedAt <= maxBlockAgeNanos) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            refill(key, holder, block);
+        }
+    }
+
+    // 블록을 다 썼거나 오래된 경우 콘서트/차선마다 한 스레드만 새 블록을 받아온다 (다른 콘서트/차선의 발급은 막지 않는다)
+    private void refill(SequenceKey key, BlockHolder holder, Block stale) {
+        holder.lock.lock();
+        try {
+            if (holder.block != stale) {
+                return;
+            }
+            long start = tokenSequenceRepository.allocateBlock(key.concertId(), key.lane(), blockSize);
+            holder.block = new Block(start, start + blockSize);
+        } finally {
+            holder.lock.unlock();
+        }
+    }
+
+    private record SequenceKey(long concertId, int lane) {
+    }
+
+    private static class BlockHolder {
+        // DB 호출을 감싸므로 synchronized 대신 사용 (가상 스레드가 캐리어 스레드에 고정되지 않도록)
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Block block;
+    }
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long end;
+        private final long allocatedAt = System.nanoTime();
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
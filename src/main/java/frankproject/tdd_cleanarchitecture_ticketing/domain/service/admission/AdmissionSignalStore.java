@@ -0,0 +1,11 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission;
+
+// 서버마다 모은 예약 처리 신호를 리더의 판단 주기마다 합치는 저장소 (token.admission.signal-store = redis | memory)
+public interface AdmissionSignalStore {
+
+    // 이 서버가 마지막 반영 이후 모은 신호를 더함 (커넥션 풀 사용률은 서버 중 가장 큰 값만 남김)
+    void add(AdmissionSignals signals);
+
+    // 마지막으로 꺼낸 뒤 모든 서버가 더한 신호를 꺼내고 비움
+    AdmissionSignals take();
+}
@@ -0,0 +1,16 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission;
+
+// 예약 처리 신호 (요청 수, 낙관적 락 충돌 수, 응답이 목표 p95를 넘은 요청 수, 커넥션 풀 사용률)
+// 건수는 서버끼리 더할 수 있어 클러스터 전체의 충돌 비율과 p95 초과 여부를 그대로 계산할 수 있다
+public record AdmissionSignals(long requests, long optimisticFailures, long slowRequests, double poolSaturation) {
+
+    public static final AdmissionSignals EMPTY = new AdmissionSignals(0, 0, 0, 0.0);
+
+    public AdmissionSignals plus(AdmissionSignals other) {
+        return new AdmissionSignals(
+                requests + other.requests,
+                optimisticFailures + other.optimisticFailures,
+                slowRequests + other.slowRequests,
+                Math.max(poolSaturation, other.poolSaturation));
+    }
+}
@@ -0,0 +1,11 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service.lease;
+
+// 여러 서버가 공유하는 작업 임대(lease) 저장소 (scheduler.lease.store = redis | memory)
+public interface LeaseLock {
+
+    // 비어 있거나 owner가 이미 가진 임대면 ttlMillis 동안 owner에게 부여(연장)하고 true
+    boolean tryAcquire(String name, String owner, long ttlMillis);
+
+    // owner가 가진 임대만 반납 (다른 서버로 넘어간 임대는 건드리지 않음)
+    void release(String name, String owner);
+}
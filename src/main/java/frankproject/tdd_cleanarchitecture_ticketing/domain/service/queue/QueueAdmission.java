@@ -0,0 +1,41 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+// 한 번의 통과 처리 결과
+// 차선별 통과 인원과, 통과 직전에 하트비트가 끊겨 제거된 대기자의 제거 당시 순번 (차선별, 제거한 순서대로)
+// 구독자는 자기 순번보다 앞선 제거 순번 수와 자기 차선의 통과 인원만큼 순번을 당긴다
+@Getter
+public class QueueAdmission {
+
+    // 제거 순번을 알 수 없을 때 (분할 대기열은 순번이 분할 전체에 걸쳐 있어 제거 스크립트 안에서 셀 수 없다)
+    public static final long UNKNOWN_POSITION = 0;
+
+    public static final QueueAdmission NONE = new QueueAdmission(Map.of(), Map.of());
+
+    // 차선 번호 -> 통과 인원
+    private final Map<Integer, Integer> admittedByLane;
+    // 차선 번호 -> 제거 당시 순번 (1부터, 앞의 제거가 반영된 뒤의 순번)
+    private final Map<Integer, List<Long>> evictedPositionsByLane;
+
+    public QueueAdmission(Map<Integer, Integer> admittedByLane, Map<Integer, List<Long>> evictedPositionsByLane) {
+        this.admittedByLane = Map.copyOf(admittedByLane);
+        this.evictedPositionsByLane = Map.copyOf(evictedPositionsByLane);
+    }
+
+    public static QueueAdmission admitted(Map<Integer, Integer> admittedByLane) {
+        return new QueueAdmission(admittedByLane, Map.of());
+    }
+
+    public int getAdmittedCount() {
+        return admittedByLane.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    // 통과도 제거도 없으면 알릴 것이 없다
+    public boolean isEmpty() {
+        return admittedByLane.isEmpty() && evictedPositionsByLane.isEmpty();
+    }
+}
@@ -0,0 +1,17 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue;
+
+import java.util.List;
+
+// 대기열 변경/통과 알림 전달 (token.queue.events.relay = local | redis)
+// 서버 한 대면 이 서버의 이벤트로 바로 발행하고, 여러 서버가 리더 한 대의 통과를 나눠 받을 때만 Redis로 중계한다
+public interface QueueEventPublisher {
+
+    // 통과 스케줄러에 해당 콘서트 처리 요청 (처리 대기 중인 콘서트면 다시 깨우지 않는다)
+    void queueChanged(long concertId);
+
+    // 처리 대기 콘서트 ID를 최대 count개 꺼냄 (리더 스케줄러용)
+    List<Long> takeChangedConcerts(int count);
+
+    // 대기열 순번 구독자에게 차선별 통과 인원과 제거 순번 전파 (통과도 제거도 없으면 보내지 않는다)
+    void admitted(long concertId, QueueAdmission admission);
+}
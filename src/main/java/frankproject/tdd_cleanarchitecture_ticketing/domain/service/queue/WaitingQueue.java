@@ -0,0 +1,42 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.QueueLaneProperties;
+
+import java.util.Collection;
+import java.util.Map;
+
+// 콘서트 대기열 엔진 (token.queue.engine = jpa | redis | memory)
+public interface WaitingQueue {
+
+    // 대기열 참가 후 대기 순번 반환 (이미 참가 중이면 ALREADY_IN_QUEUE)
+    long join(long concertId, long customerId);
+
+    // 본인 대기 순번 조회 (1이면 다음 통과 대상, 대기 중이 아니면 TOKEN_NOT_FOUND)
+    long position(long concertId, long customerId);
+
+    // 본인이 대기 중인 차선 (순번은 차선마다 따로 매겨진다, 차선이 없는 엔진은 기본 차선)
+    default int lane(long concertId, long customerId) {
+        return QueueLaneProperties.DEFAULT_LANE;
+    }
+
+    // 최대 활성화 인원(size)까지 대기열 앞에서부터 통과시키고 통과 인원 반환
+    int admit(long concertId, int size);
+
+    // admit과 같지만 차선별 통과 인원(통과 인원이 없는 차선은 빠진다)과 통과 직전 제거된 대기자의 순번 반환
+    default QueueAdmission admitByLane(long concertId, int size) {
+        int admitted = admit(concertId, size);
+        return admitted > 0 ? QueueAdmission.admitted(Map.of(QueueLaneProperties.DEFAULT_LANE, admitted)) : QueueAdmission.NONE;
+    }
+
+    // 유지 시간이 지난 활성화 토큰 만료 후 만료 인원 반환
+    long expire(long concertId);
+
+    // 대기 중이거나 활성화된 토큰이 하나도 없으면 true (스케줄러가 건너뛸 수 있음)
+    boolean isIdle(long concertId);
+
+    // 활성화 토큰 유지 시간 (통과 후 이 시간이 지나면 만료 대상)
+    long activeTtlMillis();
+
+    // 대기 중이거나 활성화된 토큰이 있는 콘서트 ID (참가 시 등록되고, 통과/만료 후 비면 빠진다)
+    Collection<Long> liveConcertIds();
+}
@@ -0,0 +1,26 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.admission;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission.AdmissionSignalStore;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission.AdmissionSignals;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 단일 서버(엣지 노드, 벤치마크)용 신호 저장소
+@Component
+@ConditionalOnProperty(name = "token.admission.signal-store", havingValue = "memory")
+public class InMemoryAdmissionSignalStore implements AdmissionSignalStore {
+
+    private AdmissionSignals signals = AdmissionSignals.EMPTY;
+
+    @Override
+    public synchronized void add(AdmissionSignals added) {
+        signals = signals.plus(added);
+    }
+
+    @Override
+    public synchronized AdmissionSignals take() {
+        AdmissionSignals taken = signals;
+        signals = AdmissionSignals.EMPTY;
+        return taken;
+    }
+}
@@ -0,0 +1,73 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.admission;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission.AdmissionSignalStore;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission.AdmissionSignals;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Redis 해시 하나에 모든 서버의 신호를 더하고, 리더가 판단할 때 통째로 꺼낸다 (admission:signals)
+@Component
+@ConditionalOnProperty(name = "token.admission.signal-store", havingValue = "redis", matchIfMissing = true)
+public class RedisAdmissionSignalStore implements AdmissionSignalStore {
+
+    private static final String SIGNALS_KEY = "admission:signals";
+
+    // 건수는 더하고 커넥션 풀 사용률은 큰 값만 남김
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HINCRBY', KEYS[1], 'requests', ARGV[1])
+            redis.call('HINCRBY', KEYS[1], 'failures', ARGV[2])
+            redis.call('HINCRBY', KEYS[1], 'slow', ARGV[3])
+            local saturation = tonumber(redis.call('HGET', KEYS[1], 'saturation') or '0')
+            if tonumber(ARGV[4]) > saturation then
+                redis.call('HSET', KEYS[1], 'saturation', ARGV[4])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            return 1
+            """, Long.class);
+
+    // 읽고 지우기를 한 번에 ("요청:충돌:지연:사용률")
+    private static final RedisScript<String> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            local values = redis.call('HMGET', KEYS[1], 'requests', 'failures', 'slow', 'saturation')
+            redis.call('DEL', KEYS[1])
+            for i = 1, 4 do
+                values[i] = values[i] or '0'
+            end
+            return table.concat(values, ':')
+            """, String.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    // 리더가 없는 동안 쌓인 신호가 다음 판단을 왜곡하지 않도록 판단 주기 10번 동안 꺼내지 않은 해시는 지운다
+    private final long signalsTtlMillis;
+
+    public RedisAdmissionSignalStore(RedisTemplate<String, Object> redisTemplate, @Value("${token.admission.decision-interval-millis:1000}") long decisionIntervalMillis) {
+        this.redisTemplate = redisTemplate;
+        this.signalsTtlMillis = decisionIntervalMillis * 10;
+    }
+
+    @Override
+    public void add(AdmissionSignals signals) {
+        redisTemplate.execute(ADD_SCRIPT, List.of(SIGNALS_KEY),
+                String.valueOf(signals.requests()),
+                String.valueOf(signals.optimisticFailures()),
+                String.valueOf(signals.slowRequests()),
+                String.valueOf(signals.poolSaturation()),
+                String.valueOf(signalsTtlMillis));
+    }
+
+    @Override
+    public AdmissionSignals take() {
+        String taken = redisTemplate.execute(TAKE_SCRIPT, List.of(SIGNALS_KEY));
+        if (taken == null) {
+            return AdmissionSignals.EMPTY;
+        }
+        String[] values = taken.split(":");
+        return new AdmissionSignals(Long.parseLong(values[0]), Long.parseLong(values[1]), Long.parseLong(values[2]), Double.parseDouble(values[3]));
+    }
+}
@@ -0,0 +1,45 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.lease;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.lease.LeaseLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 단일 서버(엣지 노드, 벤치마크)용 임대 저장소
+// 같은 JVM 안의 여러 스케줄러 인스턴스가 하나의 객체를 공유하면 Redis 없이도 리더 선출을 검증할 수 있다
+@Component
+@ConditionalOnProperty(name = "scheduler.lease.store", havingValue = "memory")
+public class InMemoryLeaseLock implements LeaseLock {
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(String name, String owner, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Lease lease = leases.compute(name, (key, current) -> {
+            if (current == null || current.expiresAt <= now || current.owner.equals(owner)) {
+                return new Lease(owner, now + ttlMillis);
+            }
+            return current;
+        });
+        return lease.owner.equals(owner);
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        leases.computeIfPresent(name, (key, current) -> current.owner.equals(owner) ? null : current);
+    }
+
+    private static class Lease {
+
+        private final String owner;
+        private final long expiresAt;
+
+        private Lease(String owner, long expiresAt) {
+            this.owner = owner;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.lease;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.lease.LeaseLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Redis 키 하나로 관리하는 임대 (lease:{name} = 소유 서버 ID, PX = 유지 시간)
+@Component
+@ConditionalOnProperty(name = "scheduler.lease.store", havingValue = "redis", matchIfMissing = true)
+public class RedisLeaseLock implements LeaseLock {
+
+    private static final String LEASE_PREFIX = "lease:";
+
+    // 비어 있으면 획득, 본인 소유면 연장 (1: 성공, 0: 다른 서버 소유)
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local owner = redis.call('GET', KEYS[1])
+            if owner == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return 1
+            end
+            if not owner then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    // 본인 소유일 때만 삭제
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public RedisLeaseLock(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean tryAcquire(String name, String owner, long ttlMillis) {
+        Long acquired = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(LEASE_PREFIX + name), owner, String.valueOf(ttlMillis));
+        return acquired != null && acquired == 1L;
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_PREFIX + name), owner);
+    }
+}
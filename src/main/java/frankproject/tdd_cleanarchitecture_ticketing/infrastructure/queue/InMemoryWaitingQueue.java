@@ -0,0 +1,410 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 단일 서버(엣지 노드, 벤치마크)용 JVM 메모리 대기열
+// 콘서트 단위로 잠금을 나누고(스트라이프), 고객 ID 인덱스는 박싱 없는 long 해시맵을 사용한다
+// 참가 O(1), 순번 조회 O(log N) (펜윅 트리), 통과는 통과 인원에 비례
+// token.queue.memory.persistence-dir 을 지정하면 주기적 스냅샷 + 메모리 맵 저널로 재시작 시 대기열을 복구한다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "token.queue.engine", havingValue = "memory")
+public class InMemoryWaitingQueue implements WaitingQueue {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<Long, ConcertQueue> queues = new ConcurrentHashMap<>();
+
+    // 대기 중이거나 활성화된 고객이 있는 콘서트 ID
+    private final Set<Long> liveConcerts = ConcurrentHashMap.newKeySet();
+
+    private final long activeTtlMillis;
+
+    // 영속화 디렉터리와 저널 (지정하지 않으면 null, 메모리에만 유지)
+    private final Path persistenceDir;
+    private volatile QueueJournal journal;
+    private volatile boolean journalFullLogged;
+    // 직전 스냅샷이 실패했으면 저널을 넘기지 않는다 (넘기면 마지막 성공 스냅샷 이후 기록이 지워진다)
+    private volatile boolean snapshotFailed;
+
+    public InMemoryWaitingQueue(long activeTtlMillis) {
+        this(activeTtlMillis, "", 0);
+    }
+
+    @Autowired
+    public InMemoryWaitingQueue(@Value("${token.queue.memory.active-ttl-millis:60000}") long activeTtlMillis,
+                                @Value("${token.queue.memory.persistence-dir:}") String persistenceDir,
+                                @Value("${token.queue.memory.journal-size-bytes:67108864}") int journalSizeBytes) {
+        this.activeTtlMillis = activeTtlMillis;
+        this.persistenceDir = persistenceDir.isBlank() ? null : Path.of(persistenceDir);
+        if (this.persistenceDir != null) {
+            restore(journalSizeBytes);
+        }
+    }
+
+    @Override
+    public long join(long concertId, long customerId) {
+        long position = queueOf(concertId).join(customerId);
+        liveConcerts.add(concertId);
+        return position;
+    }
+
+    @Override
+    public long position(long concertId, long customerId) {
+        ConcertQueue queue = queues.get(concertId);
+        if (queue == null) {
+            throw new CoreException(ErrorCode.TOKEN_NOT_FOUND);
+        }
+        return queue.position(customerId);
+    }
+
+    @Override
+    public int admit(long concertId, int size) {
+        ConcertQueue queue = queues.get(concertId);
+        if (queue == null) {
+            return 0;
+        }
+        int admitted = queue.admit(size, System.currentTimeMillis());
+        releaseIfIdle(concertId, queue);
+        return admitted;
+    }
+
+    @Override
+    public long expire(long concertId) {
+        ConcertQueue queue = queues.get(concertId);
+        if (queue == null) {
+            return 0;
+        }
+        long expired = queue.expire(System.currentTimeMillis() - activeTtlMillis);
+        releaseIfIdle(concertId, queue);
+        return expired;
+    }
+
+    @Override
+    public boolean isIdle(long concertId) {
+        ConcertQueue queue = queues.get(concertId);
+        return queue == null || queue.isIdle();
+    }
+
+    @Override
+    public long activeTtlMillis() {
+        return activeTtlMillis;
+    }
+
+    @Override
+    public Collection<Long> liveConcertIds() {
+        return List.copyOf(liveConcerts);
+    }
+
+    // 저널을 다른 파일로 넘긴 뒤 콘서트별 상태를 스냅샷으로 기록
+    // 넘긴 뒤의 변경은 새 파일에 쌓이고, 스냅샷에 이미 반영된 변경은 복구 시 버전으로 걸러낸다
+    @Scheduled(fixedDelayString = "${token.queue.memory.snapshot-interval-millis:1000}")
+    public void snapshot() {
+        QueueJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        if (!snapshotFailed) {
+            current.switchFile();
+        }
+        List<QueueSnapshot.Entry> entries = new ArrayList<>();
+        for (ConcertQueue queue : queues.values()) {
+            entries.add(queue.snapshot());
+        }
+        try {
+            QueueSnapshot.write(persistenceDir, entries);
+            journalFullLogged = false;
+            snapshotFailed = false;
+        } catch (IOException e) {
+            snapshotFailed = true;
+            log.error("대기열 스냅샷 저장 실패: {}", persistenceDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        snapshot();
+        QueueJournal current = journal;
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    // 스냅샷을 올리고 두 저널 파일의 이후 변경을 재실행한 뒤, 곧바로 새 스냅샷을 남긴다
+    private void restore(int journalSizeBytes) {
+        long startedAt = System.currentTimeMillis();
+        try {
+            Files.createDirectories(persistenceDir);
+            for (QueueSnapshot.Entry entry : QueueSnapshot.read(persistenceDir)) {
+                queues.put(entry.concertId, ConcertQueue.restore(this, entry));
+            }
+            QueueJournal restored = new QueueJournal(persistenceDir, journalSizeBytes);
+            restored.replay(this::replay);
+            queues.forEach((concertId, queue) -> {
+                if (!queue.isIdle()) {
+                    liveConcerts.add(concertId);
+                }
+            });
+            journal = restored;
+        } catch (IOException e) {
+            throw new UncheckedIOException("대기열 복구 실패: " + persistenceDir, e);
+        }
+        snapshot();
+        log.info("메모리 대기열 복구: 콘서트 {}개, {}ms", queues.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    private void replay(byte type, long concertId, long version, long first, long second) {
+        ConcertQueue queue = queueOf(concertId);
+        // 스냅샷에 이미 반영됐거나, 앞선 기록이 빠져 버전이 이어지지 않으면 재실행하지 않는다
+        if (version != queue.version + 1) {
+            return;
+        }
+        switch (type) {
+            case QueueJournal.JOIN -> queue.join(first);
+            case QueueJournal.ADMIT -> queue.admitCount((int) first, second);
+            case QueueJournal.EXPIRE -> queue.expire(first);
+            default -> throw new IllegalStateException("알 수 없는 저널 레코드: " + type);
+        }
+        queue.version = version;
+    }
+
+    // 저널이 가득 차면 다음 스냅샷까지는 스냅샷 주기만큼의 변경만 잃을 수 있다
+    private void append(byte type, long concertId, long version, long first, long second) {
+        QueueJournal current = journal;
+        if (current != null && !current.append(type, concertId, version, first, second) && !journalFullLogged) {
+            journalFullLogged = true;
+            log.warn("대기열 저널이 가득 찼습니다. 다음 스냅샷까지 기록을 건너뜁니다: {}", persistenceDir);
+        }
+    }
+
+    // 비었으면 등록 해제 후 다시 확인 (해제 사이에 참가한 고객이 있으면 재등록)
+    private void releaseIfIdle(long concertId, ConcertQueue queue) {
+        if (queue.isIdle()) {
+            liveConcerts.remove(concertId);
+            if (!queue.isIdle()) {
+                liveConcerts.add(concertId);
+            }
+        }
+    }
+
+    private ConcertQueue queueOf(long concertId) {
+        return queues.computeIfAbsent(concertId, id -> new ConcertQueue(this, id, INITIAL_CAPACITY));
+    }
+
+    // 콘서트 하나의 대기열 (모든 연산은 이 객체로 동기화)
+    // 상태를 바꾼 연산은 잠금 안에서 버전을 올리고 저널에 남기므로 저널 순서가 곧 적용 순서다
+    private static class ConcertQueue {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        // customers[0]에 해당하는 순번
+        private long base = 1;
+        // 다음 통과 대상 순번
+        private long head = 1;
+        private long nextSequence = 1;
+
+        // 순번 -> 고객 ID (통과했거나 이탈하면 EMPTY)
+        private long[] customers;
+        // 대기 중 여부의 펜윅 트리 (1부터 시작)
+        private int[] tree;
+
+        // 고객 ID -> 순번
+        private final LongLongHashMap waitingIndex = new LongLongHashMap(INITIAL_CAPACITY);
+        // 고객 ID -> 활성화 시각
+        private final LongLongHashMap activeIndex = new LongLongHashMap(INITIAL_CAPACITY);
+        // 활성화 순서 {고객 ID, 활성화 시각} (만료는 앞에서부터)
+        private final ArrayDeque<long[]> activeOrder = new ArrayDeque<>();
+
+        // 저널 기록용 (복구 중에는 owner의 저널이 아직 없어 기록되지 않는다)
+        private final InMemoryWaitingQueue owner;
+        private final long concertId;
+        // 상태를 바꾼 연산 수 (스냅샷 이후의 저널 레코드만 재실행하는 기준)
+        private long version;
+
+        private ConcertQueue(InMemoryWaitingQueue owner, long concertId, int capacity) {
+            this.owner = owner;
+            this.concertId = concertId;
+            customers = new long[capacity];
+            Arrays.fill(customers, EMPTY);
+            tree = new int[capacity + 1];
+        }
+
+        private static ConcertQueue restore(InMemoryWaitingQueue owner, QueueSnapshot.Entry entry) {
+            ConcertQueue queue = new ConcertQueue(owner, entry.concertId, Math.max(INITIAL_CAPACITY, entry.waiting.length * 2));
+            for (long customerId : entry.waiting) {
+                queue.join(customerId);
+            }
+            for (int i = 0; i < entry.active.length; i += 2) {
+                queue.activeIndex.put(entry.active[i], entry.active[i + 1]);
+                queue.activeOrder.addLast(new long[]{entry.active[i], entry.active[i + 1]});
+            }
+            queue.version = entry.version;
+            return queue;
+        }
+
+        private synchronized long join(long customerId) {
+            if (waitingIndex.containsKey(customerId) || activeIndex.containsKey(customerId)) {
+                throw new CoreException(ErrorCode.ALREADY_IN_QUEUE);
+            }
+            ensureCapacity();
+            long sequence = nextSequence++;
+            int index = (int) (sequence - base);
+            customers[index] = customerId;
+            add(index, 1);
+            waitingIndex.put(customerId, sequence);
+            record(QueueJournal.JOIN, customerId, 0);
+            return prefixSum(index);
+        }
+
+        private synchronized long position(long customerId) {
+            long sequence = waitingIndex.get(customerId);
+            if (sequence == LongLongHashMap.NO_VALUE) {
+                throw new CoreException(ErrorCode.TOKEN_NOT_FOUND);
+            }
+            return prefixSum((int) (sequence - base));
+        }
+
+        private synchronized int admit(int size, long now) {
+            int admitted = admitCount(size - activeIndex.size(), now);
+            if (admitted > 0) {
+                record(QueueJournal.ADMIT, admitted, now);
+            }
+            return admitted;
+        }
+
+        // 앞에서부터 count명까지 통과 (저널 재실행도 이 경로를 쓴다)
+        private synchronized int admitCount(int count, long now) {
+            int free = count;
+            int admitted = 0;
+            while (free > 0 && head < nextSequence) {
+                int index = (int) (head - base);
+                long customerId = customers[index];
+                head++;
+                if (customerId == EMPTY) {
+                    continue;
+                }
+                customers[index] = EMPTY;
+                add(index, -1);
+                waitingIndex.remove(customerId);
+                activeIndex.put(customerId, now);
+                activeOrder.addLast(new long[]{customerId, now});
+                admitted++;
+                free--;
+            }
+            return admitted;
+        }
+
+        private synchronized long expire(long expiredBefore) {
+            long expired = 0;
+            while (!activeOrder.isEmpty() && activeOrder.peekFirst()[1] <= expiredBefore) {
+                long[] entry = activeOrder.pollFirst();
+                if (activeIndex.get(entry[0]) == entry[1]) {
+                    activeIndex.remove(entry[0]);
+                    expired++;
+                }
+            }
+            if (expired > 0) {
+                record(QueueJournal.EXPIRE, expiredBefore, 0);
+            }
+            return expired;
+        }
+
+        private synchronized QueueSnapshot.Entry snapshot() {
+            long[] waiting = new long[waitingIndex.size()];
+            int count = 0;
+            for (long sequence = head; sequence < nextSequence; sequence++) {
+                long customerId = customers[(int) (sequence - base)];
+                if (customerId != EMPTY) {
+                    waiting[count++] = customerId;
+                }
+            }
+            long[] active = new long[activeIndex.size() * 2];
+            int offset = 0;
+            for (long[] entry : activeOrder) {
+                if (activeIndex.get(entry[0]) == entry[1]) {
+                    active[offset++] = entry[0];
+                    active[offset++] = entry[1];
+                }
+            }
+            return new QueueSnapshot.Entry(concertId, version, waiting, active);
+        }
+
+        private void record(byte type, long first, long second) {
+            version++;
+            owner.append(type, concertId, version, first, second);
+        }
+
+        private synchronized boolean isIdle() {
+            return waitingIndex.size() == 0 && activeIndex.size() == 0;
+        }
+
+        // 통과한 앞부분을 잘라내고, 그래도 부족하면 배열을 두 배로 늘린다
+        private void ensureCapacity() {
+            if (nextSequence - base < customers.length) {
+                return;
+            }
+            int offset = (int) (head - base);
+            int length = (int) (nextSequence - head);
+            int capacity = length * 2 < customers.length ? customers.length : customers.length * 2;
+            long[] resized = new long[capacity];
+            Arrays.fill(resized, EMPTY);
+            System.arraycopy(customers, offset, resized, 0, length);
+            customers = resized;
+            base = head;
+            rebuildTree();
+        }
+
+        private void rebuildTree() {
+            int n = customers.length;
+            tree = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                if (customers[i] != EMPTY) {
+                    tree[i + 1]++;
+                }
+            }
+            for (int i = 1; i <= n; i++) {
+                int parent = i + (i & -i);
+                if (parent <= n) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        private void add(int index, int delta) {
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // index까지(포함) 대기 중인 인원
+        private long prefixSum(int index) {
+            long sum = 0;
+            for (int i = index + 1; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Token;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueAdmission;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// token 테이블 기반 대기열
+@Component
+@ConditionalOnProperty(name = "token.queue.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaWaitingQueue implements WaitingQueue {
+
+    private final TokenService tokenService;
+
+    public JpaWaitingQueue(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public long join(long concertId, long customerId) {
+        tokenService.generateNewToken(customerId, concertId);
+        return tokenService.checkToken(customerId, concertId).getWaitNumber();
+    }
+
+    // 통과/만료된 토큰도 테이블에 남지만, 다른 엔진과 같이 대기 중이 아니면 TOKEN_NOT_FOUND
+    @Override
+    public long position(long concertId, long customerId) {
+        Token token = tokenService.checkToken(customerId, concertId);
+        if(!"PENDING".equals(token.getStatus())) {
+            throw new CoreException(ErrorCode.TOKEN_NOT_FOUND);
+        }
+        return token.getWaitNumber();
+    }
+
+    @Override
+    public int lane(long concertId, long customerId) {
+        Token token = tokenService.findByCustomerId(customerId, concertId);
+        if(token == null || !"PENDING".equals(token.getStatus())) {
+            throw new CoreException(ErrorCode.TOKEN_NOT_FOUND);
+        }
+        return token.getLane();
+    }
+
+    @Override
+    public int admit(long concertId, int size) {
+        return tokenService.activeToken(concertId, size);
+    }
+
+    @Override
+    public QueueAdmission admitByLane(long concertId, int size) {
+        return QueueAdmission.admitted(tokenService.activeTokenByLane(concertId, size));
+    }
+
+    @Override
+    public long expire(long concertId) {
+        return tokenService.expireToken(concertId);
+    }
+
+    @Override
+    public boolean isIdle(long concertId) {
+        return !tokenService.hasLiveTokens(concertId);
+    }
+
+    @Override
+    public long activeTtlMillis() {
+        return Token.ACTIVE_SECONDS * 1000;
+    }
+
+    // 토큰 상태가 곧 등록 여부 (status, concert_id 인덱스로 대기/활성화 토큰만 읽는다)
+    @Override
+    public Collection<Long> liveConcertIds() {
+        return tokenService.findLiveConcertIds();
+    }
+}
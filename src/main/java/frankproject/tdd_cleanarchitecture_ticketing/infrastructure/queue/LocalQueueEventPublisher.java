@@ -0,0 +1,61 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.event.QueueChangedEvent;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.event.TokensAdmittedEvent;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueAdmission;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueEventPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 단일 서버용 대기열 알림 (Redis 없이 이 서버의 이벤트로 바로 발행, memory 대기열 엔진과 함께 사용)
+@Component
+@ConditionalOnProperty(name = "token.queue.events.relay", havingValue = "local", matchIfMissing = true)
+public class LocalQueueEventPublisher implements QueueEventPublisher {
+
+    // 처리 대기 콘서트 ID
+    private final Set<Long> changedConcerts = ConcurrentHashMap.newKeySet();
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LocalQueueEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void queueChanged(long concertId) {
+        if (changedConcerts.add(concertId)) {
+            eventPublisher.publishEvent(new QueueChangedEvent(concertId));
+        }
+    }
+
+    @Override
+    public List<Long> takeChangedConcerts(int count) {
+        List<Long> concertIds = new ArrayList<>();
+        for (Iterator<Long> iterator = changedConcerts.iterator(); iterator.hasNext() && concertIds.size() < count; ) {
+            Long concertId = iterator.next();
+            if (changedConcerts.remove(concertId)) {
+                concertIds.add(concertId);
+            }
+        }
+        return concertIds;
+    }
+
+    @Override
+    public void admitted(long concertId, QueueAdmission admission) {
+        if (admission.isEmpty()) {
+            return;
+        }
+        Map<Integer, Long> admittedByLane = new HashMap<>();
+        admission.getAdmittedByLane().forEach((lane, count) -> admittedByLane.put(lane, count.longValue()));
+        eventPublisher.publishEvent(new TokensAdmittedEvent(concertId, admittedByLane, admission.getEvictedPositionsByLane()));
+    }
+}
@@ -0,0 +1,100 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import java.util.Arrays;
+
+// long -> long 오픈 어드레싱 해시맵 (박싱 없이 고객 ID 인덱스를 보관)
+// 동기화는 호출하는 쪽에서 처리한다
+class LongLongHashMap {
+
+    static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    LongLongHashMap(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(4, initialCapacity) - 1) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    long get(long key) {
+        int index = indexOf(key);
+        return keys[index] == EMPTY ? NO_VALUE : values[index];
+    }
+
+    boolean containsKey(long key) {
+        return keys[indexOf(key)] != EMPTY;
+    }
+
+    void put(long key, long value) {
+        int index = indexOf(key);
+        if (keys[index] == EMPTY) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+        if (size > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+    }
+
+    long remove(long key) {
+        int index = indexOf(key);
+        if (keys[index] == EMPTY) {
+            return NO_VALUE;
+        }
+        long removed = values[index];
+        keys[index] = EMPTY;
+        size--;
+
+        // 선형 탐사 구간을 다시 채워 이후 키가 끊기지 않도록 한다
+        int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+        while (keys[next] != EMPTY) {
+            long rehashKey = keys[next];
+            long rehashValue = values[next];
+            keys[next] = EMPTY;
+            size--;
+            put(rehashKey, rehashValue);
+            next = (next + 1) & mask;
+        }
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
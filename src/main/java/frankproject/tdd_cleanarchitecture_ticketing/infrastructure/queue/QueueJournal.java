@@ -0,0 +1,141 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 메모리 대기열 변경 기록 (메모리 맵 파일 두 개를 번갈아 쓰는 append-only 저널)
+// 레코드: 종류(1) + 콘서트 ID(8) + 콘서트 버전(8) + 값 두 개(8 + 8), 종류 0은 끝 표시
+// 스냅샷을 찍을 때 다른 파일로 넘어가므로, 복구는 스냅샷 + 두 파일(세대 순)에서 스냅샷 이후 버전만 재실행한다
+// 기록은 콘서트 모니터 안에서 호출되므로 잠그지 않는다 (자리는 원자적으로 예약하고 각자 자기 자리에만 쓴다)
+// 끝 표시는 쓰지 않고 쓰지 않은 자리를 0으로 유지한다 (파일로 넘어갈 때 이전 세대가 쓴 만큼 지운다)
+class QueueJournal {
+
+    static final byte JOIN = 1;
+    static final byte ADMIT = 2;
+    static final byte EXPIRE = 3;
+
+    private static final byte END = 0;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 33;
+
+    private final MappedByteBuffer[] buffers = new MappedByteBuffer[2];
+    private final long[] epochs = new long[2];
+    // 파일별로 0이 아닐 수 있는 영역의 끝 (넘어갈 때 여기까지 지운다, 기동 시에는 알 수 없으므로 파일 끝)
+    private final int[] dirtyEnds = new int[2];
+    private volatile Segment segment;
+
+    QueueJournal(Path directory, int capacityBytes) throws IOException {
+        for (int i = 0; i < 2; i++) {
+            try (FileChannel channel = FileChannel.open(directory.resolve("queue-journal-" + i),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffers[i] = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+            }
+            epochs[i] = buffers[i].getLong(0);
+            dirtyEnds[i] = capacityBytes;
+        }
+        int current = epochs[0] >= epochs[1] ? 0 : 1;
+        int end = endOf(buffers[current]);
+        // 이어 쓸 자리 뒤에 남은 이전 내용(중간에 죽어 빈자리 뒤에 쓰인 레코드 등)을 지워야 복구 때 읽히지 않는다
+        clear(buffers[current], end, capacityBytes);
+        segment = new Segment(current, end);
+    }
+
+    interface RecordHandler {
+        void handle(byte type, long concertId, long version, long first, long second);
+    }
+
+    // 공간이 부족하면 false (다음 스냅샷 전까지 이후 변경은 기록되지 않는다)
+    // 앞 자리를 예약한 스레드가 쓰기 전에 죽으면 복구는 그 빈자리에서 멈추고, 콘서트별 버전이 이어지지 않는 기록은 재실행하지 않는다
+    boolean append(byte type, long concertId, long version, long first, long second) {
+        Segment target = segment;
+        MappedByteBuffer buffer = buffers[target.index];
+        // 가득 찬 뒤에는 예약 위치를 더 늘리지 않는다
+        if (target.next.get() + RECORD_SIZE > buffer.limit()) {
+            return false;
+        }
+        int start = target.next.getAndAdd(RECORD_SIZE);
+        if (start + RECORD_SIZE > buffer.limit()) {
+            return false;
+        }
+        buffer.putLong(start + 1, concertId);
+        buffer.putLong(start + 9, version);
+        buffer.putLong(start + 17, first);
+        buffer.putLong(start + 25, second);
+        // 내용을 다 쓴 뒤 종류를 기록해야 중간에 죽어도 반쯤 쓴 레코드를 읽지 않는다
+        VarHandle.releaseFence();
+        buffer.put(start, type);
+        return true;
+    }
+
+    // 다른 파일로 넘어가 비운다 (그 파일의 이전 내용은 직전 스냅샷에 이미 포함됨)
+    // 넘어가기 전에 현재 파일의 자리를 예약한 기록은 그대로 현재 파일에 쓰이고, 복구 때 두 파일을 모두 읽으므로 잃지 않는다
+    synchronized void switchFile() {
+        Segment retired = segment;
+        int next = 1 - retired.index;
+        long epoch = Math.max(epochs[0], epochs[1]) + 1;
+        MappedByteBuffer buffer = buffers[next];
+        clear(buffer, HEADER_SIZE, dirtyEnds[next]);
+        buffer.putLong(0, epoch);
+        epochs[next] = epoch;
+        dirtyEnds[retired.index] = Math.min(buffers[retired.index].limit(), retired.next.get());
+        segment = new Segment(next, HEADER_SIZE);
+    }
+
+    synchronized void force() {
+        buffers[0].force();
+        buffers[1].force();
+    }
+
+    // 오래된 파일부터 레코드 재실행
+    synchronized void replay(RecordHandler handler) {
+        Integer[] order = {0, 1};
+        Arrays.sort(order, Comparator.comparingLong(i -> epochs[i]));
+        for (int i : order) {
+            MappedByteBuffer buffer = buffers[i].duplicate();
+            int position = HEADER_SIZE;
+            while (position + RECORD_SIZE <= buffer.limit()) {
+                byte type = buffer.get(position);
+                if (type == END) {
+                    break;
+                }
+                handler.handle(type, buffer.getLong(position + 1), buffer.getLong(position + 9),
+                        buffer.getLong(position + 17), buffer.getLong(position + 25));
+                position += RECORD_SIZE;
+            }
+        }
+    }
+
+    private static void clear(MappedByteBuffer buffer, int from, int to) {
+        byte[] zeros = new byte[8192];
+        for (int position = from; position < to; position += zeros.length) {
+            buffer.put(position, zeros, 0, Math.min(zeros.length, to - position));
+        }
+    }
+
+    private static int endOf(MappedByteBuffer buffer) {
+        int position = HEADER_SIZE;
+        while (position + RECORD_SIZE <= buffer.limit() && buffer.get(position) != END) {
+            position += RECORD_SIZE;
+        }
+        return position;
+    }
+
+    // 쓰고 있는 파일과 다음 기록 위치
+    private static class Segment {
+
+        private final int index;
+        private final AtomicInteger next;
+
+        private Segment(int index, int start) {
+            this.index = index;
+            this.next = new AtomicInteger(start);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// 메모리 대기열 스냅샷 파일 (콘서트별 버전, 대기 순서, 활성화 목록)
+// 임시 파일에 메모리 맵으로 쓴 뒤 원자적으로 교체하므로 쓰는 도중 죽어도 이전 스냅샷이 남는다
+class QueueSnapshot {
+
+    private static final int MAGIC = 0x51534E50;
+    private static final int FORMAT = 1;
+    private static final String FILE_NAME = "queue-snapshot";
+
+    // 콘서트 하나의 상태 (waiting: 대기 순서대로 고객 ID, active: {고객 ID, 활성화 시각} 반복)
+    static class Entry {
+
+        final long concertId;
+        final long version;
+        final long[] waiting;
+        final long[] active;
+
+        Entry(long concertId, long version, long[] waiting, long[] active) {
+            this.concertId = concertId;
+            this.version = version;
+            this.waiting = waiting;
+            this.active = active;
+        }
+    }
+
+    private QueueSnapshot() {
+    }
+
+    static void write(Path directory, List<Entry> entries) throws IOException {
+        long size = 12;
+        for (Entry entry : entries) {
+            size += 24 + 8L * (entry.waiting.length + entry.active.length);
+        }
+
+        Path temp = directory.resolve(FILE_NAME + ".tmp");
+        Files.deleteIfExists(temp);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(FORMAT).putInt(entries.size());
+            for (Entry entry : entries) {
+                buffer.putLong(entry.concertId).putLong(entry.version)
+                        .putInt(entry.waiting.length).putInt(entry.active.length / 2);
+                buffer.asLongBuffer().put(entry.waiting).put(entry.active);
+                buffer.position(buffer.position() + 8 * (entry.waiting.length + entry.active.length));
+            }
+            buffer.force();
+        }
+        Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 스냅샷이 없으면 빈 목록
+    static List<Entry> read(Path directory) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                throw new IOException("대기열 스냅샷 형식이 올바르지 않습니다: " + file);
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                long concertId = buffer.getLong();
+                long version = buffer.getLong();
+                long[] waiting = new long[buffer.getInt()];
+                long[] active = new long[buffer.getInt() * 2];
+                buffer.asLongBuffer().get(waiting).get(active);
+                buffer.position(buffer.position() + 8 * (waiting.length + active.length));
+                entries.add(new Entry(concertId, version, waiting, active));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,36 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueAdmission;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueEventPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 여러 서버용 대기열 알림 (Redis pub/sub으로 모든 서버에 중계, 각 서버의 QueueEventSubscriber가 이벤트로 발행)
+@Component
+@ConditionalOnProperty(name = "token.queue.events.relay", havingValue = "redis")
+public class RedisQueueEventPublisher implements QueueEventPublisher {
+
+    private final TokenService tokenService;
+
+    public RedisQueueEventPublisher(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    public void queueChanged(long concertId) {
+        tokenService.markQueueChangedWithRedis(concertId);
+    }
+
+    @Override
+    public List<Long> takeChangedConcerts(int count) {
+        return tokenService.takeChangedConcertsWithRedis(count);
+    }
+
+    @Override
+    public void admitted(long concertId, QueueAdmission admission) {
+        tokenService.publishAdmittedWithRedis(concertId, admission);
+    }
+}
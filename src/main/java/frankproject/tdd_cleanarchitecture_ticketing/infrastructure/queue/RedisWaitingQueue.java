@@ -0,0 +1,81 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.QueueJoinBatcher;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueAdmission;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Redis ZSet 기반 대기열
+@Component
+@ConditionalOnProperty(name = "token.queue.engine", havingValue = "redis")
+public class RedisWaitingQueue implements WaitingQueue {
+
+    private final TokenService tokenService;
+
+    private final QueueJoinBatcher queueJoinBatcher;
+
+    public RedisWaitingQueue(TokenService tokenService, QueueJoinBatcher queueJoinBatcher) {
+        this.tokenService = tokenService;
+        this.queueJoinBatcher = queueJoinBatcher;
+    }
+
+    @Override
+    public long join(long concertId, long customerId) {
+        queueJoinBatcher.join(customerId, concertId);
+        return position(concertId, customerId);
+    }
+
+    @Override
+    public long position(long concertId, long customerId) {
+        // ZRANK는 0부터 시작
+        return tokenService.checkTokenWithRedis(customerId, concertId).getRank() + 1;
+    }
+
+    @Override
+    public int lane(long concertId, long customerId) {
+        return tokenService.checkTokenWithRedis(customerId, concertId).getLane();
+    }
+
+    @Override
+    public int admit(long concertId, int size) {
+        return admitByLane(concertId, size).getAdmittedCount();
+    }
+
+    @Override
+    public QueueAdmission admitByLane(long concertId, int size) {
+        // 떠난 대기자가 활성화 슬롯을 차지하지 않도록 통과 전에 제거하고, 제거 순번은 구독자 순번 갱신용으로 함께 반환
+        Map<Integer, List<Long>> evictedPositionsByLane = tokenService.evictAbandonedWithRedis(concertId, System.currentTimeMillis());
+        Map<Integer, Integer> admittedByLane = tokenService.activeTokenByLaneWithRedis(concertId, size);
+        if(admittedByLane.isEmpty()) {
+            // 통과시킬 대기자가 없으면 콘서트가 비었는지 확인 후 등록 해제
+            tokenService.releaseIfIdleWithRedis(concertId);
+        }
+        return new QueueAdmission(admittedByLane, evictedPositionsByLane);
+    }
+
+    @Override
+    public long expire(long concertId) {
+        return tokenService.expireTokenWithRedis(concertId);
+    }
+
+    @Override
+    public boolean isIdle(long concertId) {
+        return !tokenService.hasLiveTokensWithRedis(concertId);
+    }
+
+    @Override
+    public long activeTtlMillis() {
+        return TokenService.ACTIVE_TOKEN_TTL_MILLIS;
+    }
+
+    @Override
+    public Collection<Long> liveConcertIds() {
+        return tokenService.findLiveConcertIdsWithRedis();
+    }
+}
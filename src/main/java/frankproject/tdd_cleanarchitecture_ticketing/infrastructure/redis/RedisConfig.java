@@ -1,9 +1,12 @@
 package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.redis;
 
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.RedisToken;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -17,4 +20,18 @@ public class RedisConfig {
         template.setValueSerializer(new StringRedisSerializer());
         return template;
     }
+
+    // 토큰 회수 알림 등 pub/sub 구독용 컨테이너
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        return container;
+    }
+
+    // 대기열 멤버 직렬화
+    @Bean
+    public RedisSerializer<RedisToken> redisTokenSerializer() {
+        return new RedisTokenSerializer();
+    }
 }
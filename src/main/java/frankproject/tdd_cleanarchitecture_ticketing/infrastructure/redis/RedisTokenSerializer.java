@@ -0,0 +1,48 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.RedisToken;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+// 대기열 멤버를 24바이트 고정 길이 바이너리로 직렬화
+// 기존 JSON 문자열 멤버도 읽을 수 있어 마이그레이션 중에도 조회가 가능하다
+public class RedisTokenSerializer implements RedisSerializer<RedisToken> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public byte[] serialize(RedisToken token) throws SerializationException {
+        if (token == null) {
+            return null;
+        }
+        return token.toBytes();
+    }
+
+    @Override
+    public RedisToken deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null) {
+            return null;
+        }
+        if (isLegacy(bytes)) {
+            try {
+                return objectMapper.readValue(bytes, RedisToken.class);
+            } catch (IOException e) {
+                throw new SerializationException("JSON 대기열 멤버를 읽을 수 없습니다", e);
+            }
+        }
+        return RedisToken.fromBytes(bytes);
+    }
+
+    // JSON 문자열로 저장된 이전 형식의 멤버인지 확인
+    public static boolean isLegacy(byte[] bytes) {
+        return bytes.length != RedisToken.ENCODED_SIZE && bytes.length > 0 && bytes[0] == '{';
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return RedisToken.class;
+    }
+}
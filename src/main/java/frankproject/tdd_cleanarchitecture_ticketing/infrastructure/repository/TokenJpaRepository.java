@@ -1,12 +1,12 @@
 package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.repository;
 
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Token;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,9 +15,11 @@ public interface TokenJpaRepository extends JpaRepository<Token, Long> {
     @Query("SELECT MAX(t.waitNumber) FROM Token t WHERE t.concertId = :concertId")
     Optional<Long> findMaxPositionByConcertId(@Param("concertId") long concertId);
 
+    @Query("SELECT MAX(t.waitNumber) FROM Token t WHERE t.concertId = :concertId AND t.lane = :lane")
+    Optional<Long> findMaxPositionByConcertIdAndLane(@Param("concertId") long concertId, @Param("lane") int lane);
+
     Optional<Token> findById(long tokenId);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT t FROM Token t WHERE t.customerId = :customerId AND t.concertId = :concertId AND t.status != 'EXPIRED'")
     Token findByCustomerId(@Param("customerId") long customerId, @Param("concertId") long concertId);
 
@@ -26,4 +28,29 @@ public interface TokenJpaRepository extends JpaRepository<Token, Long> {
 
     @Query("SELECT t FROM Token t WHERE t.concertId = :concertId AND t.status = 'ACTIVE' ORDER BY t.waitNumber DESC")
     List<Token> findActiveTokensByConcertId(@Param("concertId") long concertId);
+
+    @Query("SELECT COUNT(t) > 0 FROM Token t WHERE t.concertId = :concertId AND t.status != 'EXPIRED'")
+    boolean existsLiveTokenByConcertId(@Param("concertId") long concertId);
+
+    @Query("SELECT DISTINCT t.concertId FROM Token t WHERE t.status IN ('PENDING', 'ACTIVE')")
+    List<Long> findLiveConcertIds();
+
+    @Query("SELECT COUNT(t) FROM Token t WHERE t.concertId = :concertId AND t.status = 'ACTIVE'")
+    long countActiveTokensByConcertId(@Param("concertId") long concertId);
+
+    // 같은 차선에서 나보다 순번이 빠른 PENDING 토큰 수 ((concert_id, lane, status, wait_number) 인덱스 범위만 센다)
+    @Query("SELECT COUNT(t) FROM Token t WHERE t.concertId = :concertId AND t.lane = :lane AND t.status = 'PENDING' AND t.waitNumber < :waitNumber")
+    long countPendingTokensAhead(@Param("concertId") long concertId, @Param("lane") int lane, @Param("waitNumber") long waitNumber);
+
+    // 차선에서 대기 순번이 빠른 PENDING 토큰 limit개를 한 번의 UPDATE로 활성화 (MariaDB UPDATE ... ORDER BY ... LIMIT)
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE token SET status = 'ACTIVE', updated_at = :now " +
+            "WHERE concert_id = :concertId AND lane = :lane AND status = 'PENDING' " +
+            "ORDER BY wait_number ASC LIMIT :limit", nativeQuery = true)
+    int activatePendingTokens(@Param("concertId") long concertId, @Param("lane") int lane, @Param("limit") int limit, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Token t SET t.status = 'EXPIRED', t.liveCustomerId = NULL, t.updatedAt = :now " +
+            "WHERE t.concertId = :concertId AND t.status = 'ACTIVE' AND t.updatedAt < :expiredBefore")
+    int expireActiveTokens(@Param("concertId") long concertId, @Param("expiredBefore") LocalDateTime expiredBefore, @Param("now") LocalDateTime now);
 }
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,4 +50,34 @@ public class TokenRepositoryImpl implements TokenRepository {
     public List<Token> findActiveTokensByConcertId(long concertId) {
         return tokenJpaRepository.findActiveTokensByConcertId(concertId);
     }
+
+    @Override
+    public boolean existsLiveTokenByConcertId(long concertId) {
+        return tokenJpaRepository.existsLiveTokenByConcertId(concertId);
+    }
+
+    @Override
+    public List<Long> findLiveConcertIds() {
+        return tokenJpaRepository.findLiveConcertIds();
+    }
+
+    @Override
+    public long countActiveTokensByConcertId(long concertId) {
+        return tokenJpaRepository.countActiveTokensByConcertId(concertId);
+    }
+
+    @Override
+    public long countPendingTokensAhead(long concertId, int lane, long waitNumber) {
+        return tokenJpaRepository.countPendingTokensAhead(concertId, lane, waitNumber);
+    }
+
+    @Override
+    public int activatePendingTokens(long concertId, int lane, int limit, LocalDateTime now) {
+        return tokenJpaRepository.activatePendingTokens(concertId, lane, limit, now);
+    }
+
+    @Override
+    public int expireActiveTokens(long concertId, LocalDateTime expiredBefore, LocalDateTime now) {
+        return tokenJpaRepository.expireActiveTokens(concertId, expiredBefore, now);
+    }
 }
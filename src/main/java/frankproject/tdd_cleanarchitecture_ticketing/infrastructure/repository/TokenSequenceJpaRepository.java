@@ -0,0 +1,22 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.repository;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.TokenSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TokenSequenceJpaRepository extends JpaRepository<TokenSequence, TokenSequence.Key> {
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE TokenSequence s SET s.nextValue = s.nextValue + :blockSize WHERE s.concertId = :concertId AND s.lane = :lane")
+    int increaseNextValue(@Param("concertId") long concertId, @Param("lane") int lane, @Param("blockSize") int blockSize);
+
+    // 여러 서버가 동시에 처음 할당하더라도 한 행만 생성
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO token_sequence (concert_id, lane, next_value) VALUES (:concertId, :lane, :nextValue)", nativeQuery = true)
+    int insertIfAbsent(@Param("concertId") long concertId, @Param("lane") int lane, @Param("nextValue") long nextValue);
+
+    @Query("SELECT s.nextValue FROM TokenSequence s WHERE s.concertId = :concertId AND s.lane = :lane")
+    long findNextValue(@Param("concertId") long concertId, @Param("lane") int lane);
+}
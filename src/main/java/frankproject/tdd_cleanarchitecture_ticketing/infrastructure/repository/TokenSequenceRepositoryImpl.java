@@ -0,0 +1,32 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.repository;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.repository.TokenSequenceRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class TokenSequenceRepositoryImpl implements TokenSequenceRepository {
+
+    private final TokenSequenceJpaRepository tokenSequenceJpaRepository;
+
+    private final TokenJpaRepository tokenJpaRepository;
+
+    public TokenSequenceRepositoryImpl(TokenSequenceJpaRepository tokenSequenceJpaRepository, TokenJpaRepository tokenJpaRepository) {
+        this.tokenSequenceJpaRepository = tokenSequenceJpaRepository;
+        this.tokenJpaRepository = tokenJpaRepository;
+    }
+
+    // 카운터 행 잠금은 이 짧은 트랜잭션 안에서만 유지된다 (토큰 저장 트랜잭션과 분리)
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long allocateBlock(long concertId, int lane, int blockSize) {
+        if (tokenSequenceJpaRepository.increaseNextValue(concertId, lane, blockSize) == 0) {
+            // 카운터가 없으면 차선의 기존 토큰 마지막 순번 다음부터 시작
+            long firstValue = tokenJpaRepository.findMaxPositionByConcertIdAndLane(concertId, lane).orElse(0L) + 1;
+            tokenSequenceJpaRepository.insertIfAbsent(concertId, lane, firstValue);
+            tokenSequenceJpaRepository.increaseNextValue(concertId, lane, blockSize);
+        }
+        return tokenSequenceJpaRepository.findNextValue(concertId, lane) - blockSize;
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
@@ -45,7 +46,7 @@ public class TokenControllerTest {
         requestMap.put("concertId", concertId);
 
         // Mocking 행위 설정
-        when(tokenUsecase.generateNewToken(anyLong(), anyLong())).thenReturn(mockTokenDTO);
+        when(tokenUsecase.generateNewToken(anyLong(), anyLong(), anyInt())).thenReturn(mockTokenDTO);
 
         // POST 요청 실행 및 결과 검증
         mockMvc.perform(MockMvcRequestBuilders.post("/api/tokens/generate")
@@ -77,4 +78,17 @@ public class TokenControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("ACTIVE"));
     }
 
+    @Test
+    public void subscribeToken_success() throws Exception {
+        // Mocking tokenUsecase의 checkQueuePosition 메서드
+        when(tokenUsecase.checkQueuePosition(anyLong(), anyLong())).thenReturn(3L);
+
+        // SSE 구독 요청 후 비동기 응답 시작 확인
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tokens/subscribe")
+                        .param("customerId", "1")
+                        .param("concertId", "1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+    }
+
 }
@@ -0,0 +1,109 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adaptor.interceptor;
+
+import frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor.ActiveTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ActiveTokenCacheTest {
+
+    private ActiveTokenCache activeTokenCache;
+
+    @BeforeEach
+    public void setUp() {
+        activeTokenCache = new ActiveTokenCache(mock(RedisMessageListenerContainer.class), 2);
+    }
+
+    @Test
+    @DisplayName("만료 시각 전까지만 활성화 토큰으로 조회")
+    public void isActive() {
+        // given
+        UUID activeToken = UUID.randomUUID();
+        UUID expiredToken = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+
+        // when
+        activeTokenCache.put(activeToken, now + 60000);
+        activeTokenCache.put(expiredToken, now - 1);
+
+        // then
+        assertTrue(activeTokenCache.isActive(activeToken));
+        assertFalse(activeTokenCache.isActive(expiredToken));
+        assertFalse(activeTokenCache.isActive(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("토큰 회수 알림 수신 시 캐시에서 제거")
+    public void onMessage() {
+        // given
+        UUID tokenId = UUID.randomUUID();
+        activeTokenCache.put(tokenId, System.currentTimeMillis() + 60000);
+
+        // when
+        activeTokenCache.onMessage(new DefaultMessage("token:revoked".getBytes(StandardCharsets.UTF_8), tokenId.toString().getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        assertFalse(activeTokenCache.isActive(tokenId));
+    }
+
+    @Test
+    @DisplayName("회수 알림이 캐시 적재보다 먼저 도착해도 회수된 토큰은 적재하지 않음")
+    public void putAfterInvalidate() {
+        // given
+        UUID tokenId = UUID.randomUUID();
+        activeTokenCache.invalidate(tokenId);
+
+        // when
+        activeTokenCache.put(tokenId, System.currentTimeMillis() + 60000);
+
+        // then
+        assertFalse(activeTokenCache.isActive(tokenId));
+        assertEquals(0, activeTokenCache.size());
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 만료된 토큰부터 정리하고, 가득 차면 적재하지 않음")
+    public void maxSize() {
+        // given
+        long now = System.currentTimeMillis();
+        activeTokenCache.put(UUID.randomUUID(), now - 1);
+        activeTokenCache.put(UUID.randomUUID(), now + 60000);
+
+        // when
+        UUID newToken = UUID.randomUUID();
+        activeTokenCache.put(newToken, now + 60000);
+        UUID overflowToken = UUID.randomUUID();
+        activeTokenCache.put(overflowToken, now + 60000);
+
+        // then
+        assertEquals(2, activeTokenCache.size());
+        assertTrue(activeTokenCache.isActive(newToken));
+        assertFalse(activeTokenCache.isActive(overflowToken));
+    }
+
+    @Test
+    @DisplayName("적재할 때 먼저 적재된 토큰 중 만료된 토큰을 정리")
+    public void evictExpiredOnPut() {
+        // given
+        long now = System.currentTimeMillis();
+        activeTokenCache.put(UUID.randomUUID(), now - 1);
+
+        // when
+        UUID newToken = UUID.randomUUID();
+        activeTokenCache.put(newToken, now + 60000);
+
+        // then
+        assertEquals(1, activeTokenCache.size());
+        assertTrue(activeTokenCache.isActive(newToken));
+    }
+}
@@ -0,0 +1,99 @@
+package frankproject.tdd_cleanarchitecture_ticketing.adaptor.interceptor;
+
+import frankproject.tdd_cleanarchitecture_ticketing.adapter.interceptor.IssuedTokenFilter;
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.IssuedTokenFilterDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.application.usecase.TokenUsecase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IssuedTokenFilterTest {
+
+    @Test
+    @DisplayName("통과 알림으로 받은 토큰은 항상 통과, 임의의 토큰은 대부분 거부")
+    public void mightBeActive() {
+        IssuedTokenFilter filter = new IssuedTokenFilter(mock(TokenUsecase.class), true, 10000, 0.01, 60000);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        ByteBuffer body = ByteBuffer.allocate(32)
+                .putLong(first.getMostSignificantBits()).putLong(first.getLeastSignificantBits())
+                .putLong(second.getMostSignificantBits()).putLong(second.getLeastSignificantBits());
+
+        filter.onMessage(new DefaultMessage("token:admitted".getBytes(StandardCharsets.UTF_8), body.array()), null);
+
+        assertTrue(filter.mightBeActive(first));
+        assertTrue(filter.mightBeActive(second));
+
+        int passed = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightBeActive(UUID.randomUUID())) {
+                passed++;
+            }
+        }
+        assertTrue(passed < 100, "오탐 " + passed + "건");
+
+        IssuedTokenFilterDTO stats = filter.stats();
+        assertEquals(2, stats.getInsertions());
+        assertTrue(stats.getMemoryBytes() > 0);
+        assertTrue(stats.getExpectedFalsePositiveRate() < 0.01);
+        assertEquals(10000 - passed, stats.getRejected());
+    }
+
+    @Test
+    @DisplayName("세대가 두 번 바뀌면 만료된 토큰은 필터에서 빠짐")
+    public void rotate() throws InterruptedException {
+        IssuedTokenFilter filter = new IssuedTokenFilter(mock(TokenUsecase.class), true, 1000, 0.01, 50);
+        UUID tokenId = UUID.randomUUID();
+        filter.put(tokenId);
+
+        Thread.sleep(60);
+        assertTrue(filter.mightBeActive(tokenId));
+
+        Thread.sleep(60);
+        assertFalse(filter.mightBeActive(tokenId));
+    }
+
+    @Test
+    @DisplayName("구독 후 Redis에서 채우기 전에는 거르지 않고, 채운 뒤에는 구독 전에 활성화된 토큰도 통과")
+    public void rebuildOnSubscribe() throws InterruptedException {
+        TokenUsecase tokenUsecase = mock(TokenUsecase.class);
+        UUID missed = UUID.randomUUID();
+        when(tokenUsecase.findActiveTokenIdsWithRedis()).thenReturn(List.of(missed));
+        IssuedTokenFilter filter = new IssuedTokenFilter(mock(RedisMessageListenerContainer.class), tokenUsecase, true, 1000, 0.01);
+        byte[] channel = "token:admitted".getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(filter.stats().isReady());
+        assertTrue(filter.mightBeActive(UUID.randomUUID()));
+
+        filter.onChannelSubscribed(channel, 1);
+        for (int i = 0; i < 100 && !filter.stats().isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(filter.stats().isReady());
+        assertTrue(filter.mightBeActive(missed));
+
+        // 구독이 끊기면 다시 채울 때까지 거르지 않음
+        filter.onChannelUnsubscribed(channel, 0);
+        assertFalse(filter.stats().isReady());
+    }
+
+    @Test
+    @DisplayName("필터를 끄면 모든 토큰을 Redis 조회로 넘김")
+    public void disabled() {
+        IssuedTokenFilter filter = new IssuedTokenFilter(mock(TokenUsecase.class), false, 1000, 0.01, 60000);
+
+        assertTrue(filter.mightBeActive(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,141 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.schedule;
+
+import frankproject.tdd_cleanarchitecture_ticketing.application.dto.AdmissionDecisionDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.admission.AdmissionSignals;
+import frankproject.tdd_cleanarchitecture_ticketing.infrastructure.admission.InMemoryAdmissionSignalStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdmissionLimiterTest {
+
+    private AdmissionLimiterProperties properties;
+
+    private double poolSaturation;
+
+    private InMemoryAdmissionSignalStore signalStore;
+
+    private AdmissionLimiter admissionLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new AdmissionLimiterProperties();
+        properties.setEnabled(true);
+        properties.setMinActiveSize(100);
+        properties.setMaxActiveSize(2000);
+        properties.setInitialActiveSize(1000);
+        properties.setIncreaseStep(100);
+        properties.setDecreaseFactor(0.5);
+        properties.setTargetP95Millis(200);
+        properties.setMinSamples(10);
+        properties.setDecisionIntervalMillis(60000);
+        poolSaturation = 0.1;
+        signalStore = new InMemoryAdmissionSignalStore();
+        admissionLimiter = new AdmissionLimiter(properties, () -> poolSaturation, signalStore);
+    }
+
+    @Test
+    @DisplayName("과부하 신호가 없으면 활성화 인원 증가")
+    public void increase() {
+        record(50, 20, false);
+
+        AdmissionDecisionDTO decision = admissionLimiter.decide();
+
+        assertEquals("INCREASE", decision.getReason());
+        assertEquals(1100, admissionLimiter.getActiveSize());
+        assertEquals(50, decision.getP95Millis());
+    }
+
+    @Test
+    @DisplayName("예약 응답 p95가 기준을 넘으면 활성화 인원 감소")
+    public void decreaseOnLatency() {
+        record(50, 18, false);
+        record(500, 2, false);
+
+        AdmissionDecisionDTO decision = admissionLimiter.decide();
+
+        assertEquals("DECREASE_LATENCY", decision.getReason());
+        assertEquals(500, admissionLimiter.getActiveSize());
+    }
+
+    @Test
+    @DisplayName("낙관적 락 충돌 비율이 기준을 넘으면 활성화 인원 감소")
+    public void decreaseOnConflict() {
+        record(50, 10, false);
+        record(50, 10, true);
+
+        AdmissionDecisionDTO decision = admissionLimiter.decide();
+
+        assertEquals("DECREASE_CONFLICT", decision.getReason());
+        assertEquals(0.5, decision.getOptimisticFailureRate());
+        assertEquals(500, admissionLimiter.getActiveSize());
+    }
+
+    @Test
+    @DisplayName("커넥션 풀이 포화되면 표본이 없어도 감소하고 하한 아래로 내려가지 않음")
+    public void decreaseOnPoolSaturation() {
+        poolSaturation = 1.5;
+
+        for (int i = 0; i < 10; i++) {
+            admissionLimiter.decide();
+        }
+
+        assertEquals("DECREASE_POOL", admissionLimiter.getLastDecision().getReason());
+        assertEquals(100, admissionLimiter.getActiveSize());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 모은 신호도 합쳐서 판단")
+    public void decideWithClusterSignals() {
+        record(50, 10, false);
+        // 다른 서버: 10건 중 충돌 10건, 커넥션 풀 여유
+        signalStore.add(new AdmissionSignals(10, 10, 0, 0.1));
+
+        AdmissionDecisionDTO decision = admissionLimiter.decide();
+
+        assertEquals("DECREASE_CONFLICT", decision.getReason());
+        assertEquals(20, decision.getRequests());
+        assertEquals(10, decision.getSamples());
+        assertEquals(500, admissionLimiter.getActiveSize());
+    }
+
+    @Test
+    @DisplayName("다른 서버의 응답 지연 건수가 합쳐져 5%를 넘으면 감소")
+    public void decreaseOnClusterLatency() {
+        record(50, 10, false);
+        signalStore.add(new AdmissionSignals(10, 0, 2, 0.1));
+
+        AdmissionDecisionDTO decision = admissionLimiter.decide();
+
+        assertEquals("DECREASE_LATENCY", decision.getReason());
+        assertEquals(500, admissionLimiter.getActiveSize());
+    }
+
+    @Test
+    @DisplayName("콘서트 설정 인원과 조절 값 중 작은 값 적용, 비활성화 시 설정 인원 그대로")
+    public void limit() {
+        assertEquals(1000, admissionLimiter.limit(30000, 1));
+        assertEquals(500, admissionLimiter.limit(500, 1));
+
+        properties.setEnabled(false);
+        assertEquals(30000, admissionLimiter.limit(30000, 1));
+    }
+
+    @Test
+    @DisplayName("조절 값은 대기/활성화 토큰이 있는 콘서트끼리 나눠 적용")
+    public void limitSplitAcrossConcerts() {
+        assertEquals(250, admissionLimiter.limit(30000, 4));
+        assertEquals(100, admissionLimiter.limit(100, 4));
+        assertEquals(1, admissionLimiter.limit(30000, 5000));
+    }
+
+    private void record(long millis, int count, boolean optimisticFailure) {
+        for (int i = 0; i < count; i++) {
+            admissionLimiter.recordReservation(TimeUnit.MILLISECONDS.toNanos(millis), optimisticFailure);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package frankproject.tdd_cleanarchitecture_ticketing.application.schedule;
+
+import frankproject.tdd_cleanarchitecture_ticketing.infrastructure.lease.InMemoryLeaseLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 같은 임대 저장소를 공유하는 여러 서버 인스턴스를 한 JVM 안에서 흉내낸다
+public class SchedulerLeaseTest {
+
+    private static final String JOB = "test-job";
+
+    private InMemoryLeaseLock leaseLock;
+
+    @BeforeEach
+    public void setUp() {
+        leaseLock = new InMemoryLeaseLock();
+    }
+
+    @Test
+    @DisplayName("여러 인스턴스가 동시에 시도해도 리더는 하나")
+    public void singleLeader() throws Exception {
+        List<SchedulerLease> instances = IntStream.range(0, 8)
+                .mapToObj(i -> new SchedulerLease(leaseLock, "node-" + i))
+                .toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(instances.size());
+        try {
+            List<Future<Boolean>> results = executor.invokeAll(instances.stream()
+                    .map(instance -> (Callable<Boolean>) () -> instance.isLeader(JOB, 60000))
+                    .toList());
+
+            long leaders = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    leaders++;
+                }
+            }
+            assertEquals(1, leaders);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("리더는 임대를 연장하며 계속 리더로 남음")
+    public void renew() {
+        SchedulerLease first = new SchedulerLease(leaseLock, "node-1");
+        SchedulerLease second = new SchedulerLease(leaseLock, "node-2");
+
+        assertTrue(first.isLeader(JOB, 60000));
+        assertTrue(first.isLeader(JOB, 60000));
+        assertFalse(second.isLeader(JOB, 60000));
+    }
+
+    @Test
+    @DisplayName("리더가 반납하면 다른 인스턴스가 바로 이어받음")
+    public void failoverOnRelease() {
+        SchedulerLease first = new SchedulerLease(leaseLock, "node-1");
+        SchedulerLease second = new SchedulerLease(leaseLock, "node-2");
+
+        assertTrue(first.isLeader(JOB, 60000));
+        first.release(JOB);
+
+        assertTrue(second.isLeader(JOB, 60000));
+        assertFalse(first.isLeader(JOB, 60000));
+    }
+
+    @Test
+    @DisplayName("리더가 연장하지 못하면 유지 시간 후 다른 인스턴스가 이어받음")
+    public void failoverOnExpiry() throws InterruptedException {
+        SchedulerLease first = new SchedulerLease(leaseLock, "node-1");
+        SchedulerLease second = new SchedulerLease(leaseLock, "node-2");
+
+        assertTrue(first.isLeader(JOB, 50));
+        assertFalse(second.isLeader(JOB, 50));
+
+        Thread.sleep(100);
+
+        assertTrue(second.isLeader(JOB, 50));
+        assertFalse(first.isLeader(JOB, 50));
+    }
+}
@@ -2,20 +2,30 @@ package frankproject.tdd_cleanarchitecture_ticketing.application.usecase;
 
 import frankproject.tdd_cleanarchitecture_ticketing.application.dto.RedisTokenDTO;
 import frankproject.tdd_cleanarchitecture_ticketing.application.dto.TokenDTO;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Concert;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Customer;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.service.ConcertService;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.service.CustomerService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -24,9 +34,18 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
-@SpringBootTest
+// 통과 처리는 manageQueue(설정된 대기열 엔진)로 하므로 레디스 엔진 사용
+// 백그라운드 스케줄러가 테스트 대기열을 통과시키지 않도록 기본 활성화 인원은 0
+@SpringBootTest(properties = {
+        "token.queue.engine=redis",
+        "token.schedule.default-active-size=0"
+})
 @ActiveProfiles("test")
 @Execution(ExecutionMode.CONCURRENT)
 @DirtiesContext
@@ -41,6 +60,27 @@ public class TokenUsecaseTest {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    // 다른 테스트와 대기열이 겹치지 않도록 새 콘서트를 만들고, 이전 실행에서 남은 레디스 키를 지움
+    private long givenRedisConcert() {
+        LocalDateTime now = LocalDateTime.now();
+        long concertId = concertService.save(new Concert(0, "레디스 테스트 콘서트", now, now)).getConcertId();
+        String queueKey = "queue:{" + concertId + "}";
+        redisTemplate.delete(List.of(queueKey, queueKey + ":customer", queueKey + ":token", queueKey + ":seq", queueKey + ":served",
+                queueKey + ":heartbeat", queueKey + ":evicted", queueKey + ":admitting", "active:{" + concertId + "}"));
+        return concertId;
+    }
+
+    private long givenCustomer() {
+        LocalDateTime now = LocalDateTime.now();
+        return customerService.save(new Customer(0, "레디스 테스트 고객", 0, now, now)).getCustomerId();
+    }
+
     @Test
     @DisplayName("토큰 발급 동시 접근 테스트")
     public void generateNewToken() throws Exception {
@@ -100,12 +140,30 @@ public class TokenUsecaseTest {
     public void generateTokenWithRedis(){
         LocalDateTime createTime = LocalDateTime.now().minusHours(3);
         LocalDateTime updateTime = LocalDateTime.now().minusHours(1);
+        concertService.save(new Concert(1, "이무진 콘서트", createTime, updateTime));
         customerService.save(new Customer(1, "홍길동", 0, createTime, updateTime));
-        RedisTokenDTO generateResult = tokenUsecase.generateNewTokenWithRedis(1);
+        RedisTokenDTO generateResult = tokenUsecase.generateNewTokenWithRedis(1, 1L);
         assertNotNull(generateResult);
         assertEquals(1, generateResult.getCustomerId());
     }
 
+    @Test
+    @DisplayName("레디스 대기열 중복 참가 테스트")
+    public void generateTokenWithRedisDuplicated(){
+        LocalDateTime createTime = LocalDateTime.now().minusHours(3);
+        LocalDateTime updateTime = LocalDateTime.now().minusHours(1);
+        concertService.save(new Concert(1, "이무진 콘서트", createTime, updateTime));
+        customerService.save(new Customer(3, "중복고객", 0, createTime, updateTime));
+        RedisTokenDTO generateResult = tokenUsecase.generateNewTokenWithRedis(3, 1L);
+        assertNotNull(generateResult);
+
+        CoreException exception = assertThrows(CoreException.class, () -> tokenUsecase.generateNewTokenWithRedis(3, 1L));
+        assertEquals(ErrorCode.ALREADY_IN_QUEUE, exception.getErrorCode());
+
+        RedisTokenDTO result = tokenUsecase.checkTokenWithRedis(3, 1L);
+        assertEquals(generateResult.getTokenID(), result.getTokenID());
+    }
+
     @Test
     public void checkToken() {
         // given
@@ -130,8 +188,9 @@ public class TokenUsecaseTest {
     public void checkTokenWithRedis() {
         LocalDateTime createTime = LocalDateTime.now().minusHours(3);
         LocalDateTime updateTime = LocalDateTime.now().minusHours(1);
+        concertService.save(new Concert(1, "이무진 콘서트", createTime, updateTime));
         customerService.save(new Customer(1, "홍길동", 0, createTime, updateTime));
-        RedisTokenDTO generateResult = tokenUsecase.checkTokenWithRedis(1);
+        RedisTokenDTO generateResult = tokenUsecase.checkTokenWithRedis(1, 1L);
         assertNotNull(generateResult);
         assertEquals(1, generateResult.getCustomerId());
         System.out.println("고객 ID : " + generateResult.getCustomerId() + " 토큰 ID : " + generateResult.getTokenID() + " 대기순서 : " + generateResult.getRank());
@@ -139,24 +198,25 @@ public class TokenUsecaseTest {
 
     @Test
     @DisplayName("레디스 토큰 활성화/만료 테스트")
-    public void manageTokens() throws InterruptedException {
+    public void manageQueue() throws InterruptedException {
         LocalDateTime createTime = LocalDateTime.now().minusHours(3);
         LocalDateTime updateTime = LocalDateTime.now().minusHours(1);
+        concertService.save(new Concert(1, "이무진 콘서트", createTime, updateTime));
         customerService.save(new Customer(1, "홍길동", 0, createTime, updateTime));
         customerService.save(new Customer(2, "고양이", 0, createTime, updateTime));
-        RedisTokenDTO generateResult = tokenUsecase.generateNewTokenWithRedis(1);
-        RedisTokenDTO generateResult2 = tokenUsecase.generateNewTokenWithRedis(2);
+        RedisTokenDTO generateResult = tokenUsecase.generateNewTokenWithRedis(1, 1L);
+        RedisTokenDTO generateResult2 = tokenUsecase.generateNewTokenWithRedis(2, 1L);
         System.out.println("=========== 생성 완료 =================");
-        RedisTokenDTO result = tokenUsecase.checkTokenWithRedis(1);
+        RedisTokenDTO result = tokenUsecase.checkTokenWithRedis(1, 1L);
         System.out.println("고객 1 ID : " + result.getCustomerId() + " 토큰 ID : " + result.getTokenID() + " 대기순서 : " + result.getRank());
-        RedisTokenDTO result2 = tokenUsecase.checkTokenWithRedis(2);
+        RedisTokenDTO result2 = tokenUsecase.checkTokenWithRedis(2, 1L);
         System.out.println("고객 2 ID : " + result2.getCustomerId() + " 토큰 ID : " + result2.getTokenID() + " 대기순서 : " + result2.getRank());
         System.out.println("=========== 조회 완료 =================");
         assertNotNull(result);
         assertNotNull(result2);
-        tokenUsecase.manageTokensWithRedis(1);
+        tokenUsecase.manageQueue(List.of(1L), concertId -> 1);
         Thread.sleep(60000);
-        tokenUsecase.manageTokensWithRedis(1);
+        tokenUsecase.manageQueue(List.of(1L), concertId -> 1);
     }
 
     @Test
@@ -164,20 +224,130 @@ public class TokenUsecaseTest {
     public void isActiveTokenWithRedis() {
         LocalDateTime createTime = LocalDateTime.now().minusHours(3);
         LocalDateTime updateTime = LocalDateTime.now().minusHours(1);
+        concertService.save(new Concert(1, "이무진 콘서트", createTime, updateTime));
         customerService.save(new Customer(1, "홍길동", 0, createTime, updateTime));
         customerService.save(new Customer(2, "고양이", 0, createTime, updateTime));
-        RedisTokenDTO generateResult = tokenUsecase.generateNewTokenWithRedis(1);
-        RedisTokenDTO generateResult2 = tokenUsecase.generateNewTokenWithRedis(2);
+        RedisTokenDTO generateResult = tokenUsecase.generateNewTokenWithRedis(1, 1L);
+        RedisTokenDTO generateResult2 = tokenUsecase.generateNewTokenWithRedis(2, 1L);
         System.out.println("=========== 생성 완료 =================");
-        RedisTokenDTO result = tokenUsecase.checkTokenWithRedis(1);
+        RedisTokenDTO result = tokenUsecase.checkTokenWithRedis(1, 1L);
         System.out.println("고객 1 ID : " + result.getCustomerId() + " 토큰 ID : " + result.getTokenID() + " 대기순서 : " + result.getRank());
-        RedisTokenDTO result2 = tokenUsecase.checkTokenWithRedis(2);
+        RedisTokenDTO result2 = tokenUsecase.checkTokenWithRedis(2, 1L);
         System.out.println("고객 2 ID : " + result2.getCustomerId() + " 토큰 ID : " + result2.getTokenID() + " 대기순서 : " + result2.getRank());
         System.out.println("=========== 조회 완료 =================");
         assertNotNull(result);
         assertNotNull(result2);
-        tokenUsecase.manageTokensWithRedis(1);
+        tokenUsecase.manageQueue(List.of(1L), concertId -> 1);
         System.out.println("활성화 여부 : " + tokenUsecase.isActiveTokenWithRedis(result.getTokenID()));
         System.out.println("활성화 여부 : " + tokenUsecase.isActiveTokenWithRedis(result2.getTokenID()));
     }
+
+    @Test
+    @DisplayName("레디스 토큰 회수 테스트")
+    public void revokeTokenWithRedis() {
+        LocalDateTime createTime = LocalDateTime.now().minusHours(3);
+        LocalDateTime updateTime = LocalDateTime.now().minusHours(1);
+        concertService.save(new Concert(2, "회수 테스트 콘서트", createTime, updateTime));
+        customerService.save(new Customer(4, "회수고객", 0, createTime, updateTime));
+        RedisTokenDTO generateResult = tokenUsecase.generateNewTokenWithRedis(4, 2L);
+        tokenUsecase.manageQueue(List.of(2L), concertId -> 1);
+        assertTrue(tokenUsecase.findActiveTokenExpiresAtWithRedis(generateResult.getTokenID()) > System.currentTimeMillis());
+
+        tokenUsecase.revokeTokenWithRedis(2L, generateResult.getTokenID());
+
+        assertFalse(tokenUsecase.isActiveTokenWithRedis(generateResult.getTokenID()));
+        assertEquals(0L, tokenUsecase.findActiveTokenExpiresAtWithRedis(generateResult.getTokenID()));
+    }
+
+    @Test
+    @DisplayName("레디스 활성화 토큰 키의 유지 시간이 지나면 활성화 토큰으로 인정하지 않음")
+    public void activeTokenKeyExpiredWithRedis() throws InterruptedException {
+        long concertId = givenRedisConcert();
+        RedisTokenDTO token = tokenUsecase.generateNewTokenWithRedis(givenCustomer(), concertId);
+        tokenService.activeTokenWithRedis(concertId, 1);
+        assertTrue(tokenUsecase.isActiveTokenWithRedis(token.getTokenID()));
+
+        // 활성화 ZSet에 멤버가 남아 있어도 토큰별 키가 만료되면 거부
+        redisTemplate.expire("active:token:" + token.getTokenID(), Duration.ofMillis(1));
+        Thread.sleep(50);
+
+        assertFalse(tokenUsecase.isActiveTokenWithRedis(token.getTokenID()));
+        assertEquals(0L, tokenUsecase.findActiveTokenExpiresAtWithRedis(token.getTokenID()));
+    }
+
+    @Test
+    @DisplayName("활성화 후 토큰별 키를 기록하기 전에 멈춰도 다음 활성화 때 다시 기록")
+    public void redriveActiveTokenKeyWithRedis() {
+        long concertId = givenRedisConcert();
+        RedisTokenDTO token = tokenUsecase.generateNewTokenWithRedis(givenCustomer(), concertId);
+        tokenService.activeTokenWithRedis(concertId, 1);
+
+        // 활성화 스크립트까지만 실행되고 서버가 멈춘 상황: 활성화 ZSet과 통과 대기 ZSet에는 있지만 토큰별 키가 없음
+        byte[] activeKey = ("active:{" + concertId + "}").getBytes(StandardCharsets.UTF_8);
+        byte[] admittingKey = ("queue:{" + concertId + "}:admitting").getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            byte[] member = connection.zSetCommands().zRange(activeKey, 0, 0).iterator().next();
+            connection.zSetCommands().zAdd(admittingKey, System.currentTimeMillis(), member, RedisZSetCommands.ZAddArgs.empty());
+            return null;
+        });
+        redisTemplate.delete("active:token:" + token.getTokenID());
+        assertFalse(tokenUsecase.isActiveTokenWithRedis(token.getTokenID()));
+
+        // 빈 슬롯이 없어도 남아 있던 멤버의 키는 다시 기록
+        assertEquals(0, tokenService.activeTokenWithRedis(concertId, 1));
+        assertTrue(tokenUsecase.isActiveTokenWithRedis(token.getTokenID()));
+        assertEquals(0L, redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zCard(admittingKey)));
+    }
+
+    @Test
+    @DisplayName("레디스 토큰 활성화는 빈 슬롯만큼 참가 순서대로 통과시키고 대기열 인덱스를 정리")
+    public void activeTokenWithRedis() {
+        long concertId = givenRedisConcert();
+        RedisTokenDTO first = tokenUsecase.generateNewTokenWithRedis(givenCustomer(), concertId);
+        RedisTokenDTO second = tokenUsecase.generateNewTokenWithRedis(givenCustomer(), concertId);
+        RedisTokenDTO third = tokenUsecase.generateNewTokenWithRedis(givenCustomer(), concertId);
+
+        tokenService.activeTokenWithRedis(concertId, 2);
+        // 슬롯이 가득 차면 더 통과시키지 않음
+        assertEquals(0, tokenService.activeTokenWithRedis(concertId, 2));
+
+        assertTrue(tokenUsecase.isActiveTokenWithRedis(first.getTokenID()));
+        assertTrue(tokenUsecase.isActiveTokenWithRedis(second.getTokenID()));
+        assertFalse(tokenUsecase.isActiveTokenWithRedis(third.getTokenID()));
+        assertEquals(0, tokenUsecase.checkTokenWithRedis(third.getCustomerId(), concertId).getRank());
+
+        // 통과한 고객은 고객/토큰 인덱스에서 빠져 대기열 조회가 되지 않음
+        CoreException exception = assertThrows(CoreException.class, () -> tokenUsecase.checkTokenWithRedis(first.getCustomerId(), concertId));
+        assertEquals(ErrorCode.TOKEN_NOT_FOUND, exception.getErrorCode());
+        String queueKey = "queue:{" + concertId + "}";
+        assertEquals(1L, redisTemplate.opsForHash().size(queueKey + ":customer"));
+        assertEquals(1L, redisTemplate.opsForHash().size(queueKey + ":token"));
+        assertEquals(2L, redisTemplate.opsForZSet().zCard("active:{" + concertId + "}"));
+    }
+
+    @Test
+    @DisplayName("레디스 토큰 만료는 활성화 유지 시간이 지난 멤버만 제거")
+    public void expireTokenWithRedis() {
+        long concertId = givenRedisConcert();
+        tokenUsecase.generateNewTokenWithRedis(givenCustomer(), concertId);
+        tokenUsecase.generateNewTokenWithRedis(givenCustomer(), concertId);
+        tokenService.activeTokenWithRedis(concertId, 2);
+
+        // 활성화 멤버 하나의 활성화 시각을 유지 시간보다 이전으로 되돌림
+        byte[] activeKey = ("active:{" + concertId + "}").getBytes(StandardCharsets.UTF_8);
+        List<byte[]> members = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                new ArrayList<>(connection.zSetCommands().zRange(activeKey, 0, -1)));
+        assertEquals(2, members.size());
+        byte[] expiredMember = members.get(0);
+        byte[] liveMember = members.get(1);
+        redisTemplate.execute((RedisCallback<Object>) connection -> connection.zSetCommands().zAdd(activeKey,
+                System.currentTimeMillis() - TokenService.ACTIVE_TOKEN_TTL_MILLIS - 1000, expiredMember, RedisZSetCommands.ZAddArgs.ifExists()));
+
+        tokenService.expireTokenWithRedis(concertId);
+
+        assertEquals(1L, redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zCard(activeKey)));
+        assertNull(redisTemplate.execute((RedisCallback<Double>) connection -> connection.zSetCommands().zScore(activeKey, expiredMember)));
+        assertNotNull(redisTemplate.execute((RedisCallback<Double>) connection -> connection.zSetCommands().zScore(activeKey, liveMember)));
+    }
 }
+
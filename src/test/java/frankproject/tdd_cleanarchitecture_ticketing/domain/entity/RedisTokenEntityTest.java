@@ -0,0 +1,45 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RedisTokenEntityTest {
+
+    @Test
+    public void toBytes(){
+
+        // given
+        UUID tokenId = UUID.randomUUID();
+        RedisToken givenToken = new RedisToken(12345L, tokenId);
+
+        // when
+        byte[] result = givenToken.toBytes();
+        RedisToken decoded = RedisToken.fromBytes(result);
+
+        // then
+        assertEquals(RedisToken.ENCODED_SIZE, result.length);
+        assertEquals(12345L, decoded.getCustomerId());
+        assertEquals(tokenId, decoded.getTokenID());
+    }
+
+    @Test
+    public void indexFields(){
+
+        // given
+        UUID tokenId = UUID.randomUUID();
+        byte[] member = new RedisToken(7L, tokenId).toBytes();
+
+        // when
+        byte[] customerField = RedisToken.customerField(7L);
+        byte[] tokenField = RedisToken.tokenField(tokenId);
+
+        // then
+        assertArrayEquals(Arrays.copyOfRange(member, 0, 8), customerField);
+        assertArrayEquals(Arrays.copyOfRange(member, 8, 24), tokenField);
+    }
+}
@@ -0,0 +1,78 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.AccessTokenClaims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessTokenSignerTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private final AccessTokenSigner signer = new AccessTokenSigner(SECRET);
+
+    @Test
+    @DisplayName("서명한 토큰은 같은 키로 검증되고 내용이 그대로 복원됨")
+    public void signAndVerify() {
+        long now = System.currentTimeMillis();
+        UUID tokenId = UUID.randomUUID();
+        String token = signer.sign(new AccessTokenClaims(tokenId, 1L, 2L, now, now + 60000));
+
+        AccessTokenClaims claims = signer.verify(token);
+
+        assertNotNull(claims);
+        assertEquals(tokenId, claims.getTokenId());
+        assertEquals(1L, claims.getCustomerId());
+        assertEquals(2L, claims.getConcertId());
+        assertTrue(claims.isValidAt(now + 1000));
+        assertFalse(claims.isValidAt(now + 60000));
+    }
+
+    @Test
+    @DisplayName("시계 차이 허용 범위 안이면 발급 시각 전이나 만료 시각 직후에도 유효")
+    public void clockSkew() {
+        long now = System.currentTimeMillis();
+        AccessTokenClaims claims = new AccessTokenClaims(UUID.randomUUID(), 1L, 2L, now, now + 60000);
+
+        // 검증 서버의 시계가 발급 서버보다 1초 늦은 경우
+        assertFalse(claims.isValidAt(now - 1000));
+        assertTrue(claims.isValidAt(now - 1000, 2000));
+        assertFalse(claims.isValidAt(now - 3000, 2000));
+
+        // 만료 직후
+        assertTrue(claims.isValidAt(now + 61000, 2000));
+        assertFalse(claims.isValidAt(now + 62000, 2000));
+    }
+
+    @Test
+    @DisplayName("내용이나 서명이 바뀐 토큰, 다른 키로 서명한 토큰은 거부")
+    public void rejectTampered() {
+        long now = System.currentTimeMillis();
+        AccessTokenClaims claims = new AccessTokenClaims(UUID.randomUUID(), 1L, 2L, now, now + 60000);
+        String token = signer.sign(claims);
+        String payload = token.substring(0, token.indexOf('.'));
+        String signature = token.substring(token.indexOf('.') + 1);
+
+        // 만료 시각을 늘린 내용에 원래 서명을 붙인 경우
+        AccessTokenClaims extended = new AccessTokenClaims(claims.getTokenId(), 1L, 2L, now, now + 3600000);
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(extended.toBytes()) + "." + signature;
+        assertNull(signer.verify(forged));
+
+        char last = signature.charAt(0) == 'A' ? 'B' : 'A';
+        assertNull(signer.verify(payload + "." + last + signature.substring(1)));
+
+        AccessTokenSigner otherSigner = new AccessTokenSigner(Base64.getEncoder().encodeToString("fedcba9876543210fedcba9876543210".getBytes()));
+        assertNull(otherSigner.verify(token));
+
+        assertNull(signer.verify("not-a-token"));
+        assertNull(signer.verify(UUID.randomUUID().toString()));
+    }
+}
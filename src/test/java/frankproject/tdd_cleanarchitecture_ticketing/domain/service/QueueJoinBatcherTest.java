@@ -0,0 +1,119 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.RedisToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QueueJoinBatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(20);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 참가를 한 번에 기록하고 각자 결과를 받음")
+    public void joinInBatch() throws Exception {
+        // given: 이미 참가한 고객 ID를 기억하는 가짜 기록
+        TokenService tokenService = mock(TokenService.class);
+        Set<Long> joinedCustomers = new HashSet<>();
+        when(tokenService.generateNewTokensWithRedis(any())).thenAnswer(invocation -> {
+            Map<Long, List<RedisToken>> tokensByConcert = invocation.getArgument(0);
+            Map<Long, List<Boolean>> result = new HashMap<>();
+            tokensByConcert.forEach((concertId, tokens) ->
+                    result.put(concertId, tokens.stream().map(token -> joinedCustomers.add(token.getCustomerId())).toList()));
+            return result;
+        });
+        QueueJoinBatcher batcher = new QueueJoinBatcher(tokenService, true, 50, 256, 5000);
+        batcher.start();
+
+        // when
+        List<CompletableFuture<RedisToken>> futures = new ArrayList<>();
+        for (long customerId = 1; customerId <= 20; customerId++) {
+            long id = customerId;
+            futures.add(CompletableFuture.supplyAsync(() -> batcher.join(id, 1L), executor));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i + 1, futures.get(i).get(5, TimeUnit.SECONDS).getCustomerId());
+        }
+
+        // then: 20건이 몇 번의 묶음으로 기록됨
+        verify(tokenService, atMost(5)).generateNewTokensWithRedis(any());
+        verify(tokenService, never()).generateNewTokenWithRedis(anyLong(), anyLong());
+
+        // 중복 참가는 해당 요청만 실패
+        CoreException exception = assertThrows(CoreException.class, () -> batcher.join(3L, 1L));
+        assertEquals(ErrorCode.ALREADY_IN_QUEUE, exception.getErrorCode());
+        batcher.stop();
+    }
+
+    @Test
+    @DisplayName("묶음 기록이 끝나지 않으면 기록 중인 참가는 시간 초과, 아직 담기지 않은 참가는 직접 기록")
+    public void joinTimeout() throws Exception {
+        // given: 묶음 기록이 멈춘 채 돌아오지 않음
+        TokenService tokenService = mock(TokenService.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tokenService.generateNewTokensWithRedis(any())).thenAnswer(invocation -> {
+            release.await();
+            return Map.of();
+        });
+        when(tokenService.generateNewTokenWithRedis(2L, 1L)).thenReturn(new RedisToken(2L, UUID.randomUUID()));
+        QueueJoinBatcher batcher = new QueueJoinBatcher(tokenService, true, 1, 256, 200);
+        batcher.start();
+
+        try {
+            // when & then: 기록 스레드가 붙잡고 있는 참가는 반영 여부를 알 수 없어 실패
+            CoreException exception = assertThrows(CoreException.class, () -> batcher.join(1L, 1L));
+            assertEquals(ErrorCode.QUEUE_JOIN_TIMEOUT, exception.getErrorCode());
+
+            // 기록 스레드가 멈춰 있는 동안 들어온 참가는 대기 목록에서 빼고 직접 기록
+            assertEquals(2L, batcher.join(2L, 1L).getCustomerId());
+            verify(tokenService).generateNewTokenWithRedis(2L, 1L);
+            verify(tokenService, never()).generateNewTokenWithRedis(1L, 1L);
+        } finally {
+            release.countDown();
+            batcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("묶음 처리를 끄면 요청마다 바로 기록")
+    public void joinWithoutBatch() {
+        TokenService tokenService = mock(TokenService.class);
+        QueueJoinBatcher batcher = new QueueJoinBatcher(tokenService, false, 50, 256, 5000);
+        batcher.start();
+
+        batcher.join(1L, 1L);
+
+        verify(tokenService).generateNewTokenWithRedis(1L, 1L);
+        verify(tokenService, never()).generateNewTokensWithRedis(any());
+    }
+}
@@ -1,5 +1,7 @@
 package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
 
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.entity.Token;
 import frankproject.tdd_cleanarchitecture_ticketing.domain.repository.TokenRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,15 +11,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +33,9 @@ public class TokenServiceTest {
     @Mock
     private TokenRepository tokenRepository;
 
+    @Mock
+    private WaitNumberAllocator waitNumberAllocator;
+
     @InjectMocks
     private TokenService tokenService;
 
@@ -42,40 +52,60 @@ public class TokenServiceTest {
         // given
         long customerId = 1L;
         long concertId = 1L;
-        Optional<Long> expectedWaitNumber = Optional.of(1L);
-        long nextWaitNumber = expectedWaitNumber.orElse(0L) + 1;
-        Token givenToken = new Token(1L, concertId, customerId, nextWaitNumber, "PENDING", now, null);
+        long nextWaitNumber = 2L;
+        Token givenToken = new Token(1L, customerId, concertId, nextWaitNumber, "PENDING", now, null);
 
         // given Mock
-        when(tokenRepository.findMaxPositionByConcertId(concertId)).thenReturn(expectedWaitNumber);
+        when(waitNumberAllocator.next(concertId, 0)).thenReturn(nextWaitNumber);
         when(tokenRepository.save(any(Token.class))).thenReturn(givenToken);
 
         // when
         Token actualToken = tokenService.generateNewToken(customerId, concertId);
 
         // then
-        verify(tokenRepository, times(1)).findMaxPositionByConcertId(concertId);
+        verify(waitNumberAllocator, times(1)).next(concertId, 0);
+        verify(tokenRepository, never()).findMaxPositionByConcertId(concertId);
+        verify(tokenRepository, never()).findByCustomerId(customerId, concertId);
         verify(tokenRepository, times(1)).save(any(Token.class));
         assertEquals(givenToken, actualToken);
     }
 
+    @Test
+    @DisplayName("콘서트 대기열 중복 참가 테스트 - 유니크 키 위반")
+    public void generateNewTokenDuplicated() {
+        // given
+        long customerId = 1L;
+        long concertId = 1L;
+
+        // given Mock
+        when(waitNumberAllocator.next(concertId, 0)).thenReturn(3L);
+        when(tokenRepository.save(any(Token.class))).thenThrow(new DataIntegrityViolationException("uk_token_concert_live_customer"));
+
+        // when
+        CoreException exception = assertThrows(CoreException.class, () -> tokenService.generateNewToken(customerId, concertId));
+
+        // then
+        assertEquals(ErrorCode.ALREADY_IN_QUEUE, exception.getErrorCode());
+        verify(tokenRepository, never()).findByCustomerId(customerId, concertId);
+    }
+
     @Test
     @DisplayName("본인 콘서트 대기열 조회 테스트")
     public void checkToken() {
         // given
         long customerId = 2L;
         long concertId = 1L;
-        Token givenToken = new Token(2L, concertId, customerId, 2L, "PENDING", now, null);
-        Token lastActiveToken = new Token(1L, concertId, 1L, 1, "ACTIVE", now.minusMinutes(10), now);
+        Token givenToken = new Token(2L, customerId, concertId, 2L, "PENDING", now, null);
 
         // given Mock
         when(tokenRepository.findByCustomerId(customerId, concertId)).thenReturn(givenToken);
-        when(tokenRepository.findActiveTokensByConcertId(concertId)).thenReturn(List.of(lastActiveToken));
+        when(tokenRepository.countPendingTokensAhead(concertId, 0, 2L)).thenReturn(0L);
 
         // when
         Token actualToken = tokenService.checkToken(customerId, concertId);
 
         // then
+        verify(tokenRepository, never()).findActiveTokensByConcertId(concertId);
         verify(tokenRepository, never()).findMaxPositionByConcertId(concertId);
         verify(tokenRepository, never()).save(any(Token.class));
         assertEquals(givenToken.getTokenId(), actualToken.getTokenId());
@@ -118,7 +148,7 @@ public class TokenServiceTest {
         // given
         long customerId = 1L;
         long concertId = 1L;
-        Token givenToken = new Token(1L, concertId, customerId, 1, "PENDING", now, null);
+        Token givenToken = new Token(1L, customerId, concertId, 1, "PENDING", now, null);
 
         // given Mock
         when(tokenRepository.findByCustomerId(customerId, concertId)).thenReturn(givenToken);
@@ -137,30 +167,61 @@ public class TokenServiceTest {
         // given
         long concertId = 1L;
         int size = 3;
-        List<Token> waitingTokens = new ArrayList<>();
-        Token givenPendingToken1 = new Token(1L, concertId, 1L, 1L, "PENDING", now.minusMinutes(3), null);
-        Token givenPendingToken2 = new Token(2L, concertId, 2L, 2L, "PENDING", now.minusMinutes(2), null);
-        Token givenPendingToken3 = new Token(3L, concertId, 3L, 3L, "PENDING", now.minusMinutes(1), null);
-        waitingTokens.add(givenPendingToken1);
-        waitingTokens.add(givenPendingToken2);
-        waitingTokens.add(givenPendingToken3);
-        List<Token> ativeTokens = new ArrayList<>();
 
         // given Mock
-        when(tokenRepository.findPendingTokensByConcertId(concertId)).thenReturn(waitingTokens);
-        when(tokenRepository.findActiveTokensByConcertId(concertId)).thenReturn(ativeTokens);
+        when(tokenRepository.countActiveTokensByConcertId(concertId)).thenReturn(1L);
+        when(tokenRepository.activatePendingTokens(eq(concertId), eq(0), eq(2), any(LocalDateTime.class))).thenReturn(2);
 
         // when
-        List<Token> actualToken = tokenService.activeToken(concertId, size);
+        int actualCount = tokenService.activeToken(concertId, size);
 
         // then
-        verify(tokenRepository, times(1)).findPendingTokensByConcertId(concertId);
-        verify(tokenRepository, times(1)).findActiveTokensByConcertId(concertId);
-        verify(tokenRepository, times(3)).save(any(Token.class));
-        assertEquals(size, actualToken.size());
-        assertEquals("ACTIVE", actualToken.get(0).getStatus());
-        assertEquals("ACTIVE", actualToken.get(1).getStatus());
-        assertEquals("ACTIVE", actualToken.get(2).getStatus());
+        verify(tokenRepository, times(1)).countActiveTokensByConcertId(concertId);
+        verify(tokenRepository, times(1)).activatePendingTokens(eq(concertId), eq(0), eq(2), any(LocalDateTime.class));
+        verify(tokenRepository, never()).save(any(Token.class));
+        assertEquals(2, actualCount);
+    }
+
+    @Test
+    @DisplayName("차선별 가중치 토큰 활성화 테스트 - 대기자가 모자란 차선의 몫은 다른 차선으로")
+    public void activeTokenByLaneWeight() {
+        // given
+        long concertId = 1L;
+        int size = 8;
+        QueueLaneProperties queueLaneProperties = new QueueLaneProperties();
+        queueLaneProperties.setWeights(Map.of(0, 1, 1, 3));
+        ReflectionTestUtils.setField(tokenService, "queueLaneProperties", queueLaneProperties);
+
+        // given Mock (빈 슬롯 8개 = 일반 2 + 선예매 6, 선예매 대기자는 4명뿐이라 남은 2개는 일반 차선으로)
+        when(tokenRepository.countActiveTokensByConcertId(concertId)).thenReturn(0L);
+        when(tokenRepository.activatePendingTokens(eq(concertId), eq(0), eq(2), any(LocalDateTime.class))).thenReturn(2);
+        when(tokenRepository.activatePendingTokens(eq(concertId), eq(1), eq(6), any(LocalDateTime.class))).thenReturn(4);
+
+        // when
+        int actualCount = tokenService.activeToken(concertId, size);
+
+        // then
+        verify(tokenRepository, times(2)).activatePendingTokens(eq(concertId), eq(0), eq(2), any(LocalDateTime.class));
+        verify(tokenRepository, times(1)).activatePendingTokens(eq(concertId), eq(1), eq(6), any(LocalDateTime.class));
+        assertEquals(8, actualCount);
+    }
+
+    @Test
+    @DisplayName("활성화 인원이 가득 찬 경우 토큰 활성화 생략 테스트")
+    public void activeTokenWhenFull() {
+        // given
+        long concertId = 1L;
+        int size = 3;
+
+        // given Mock
+        when(tokenRepository.countActiveTokensByConcertId(concertId)).thenReturn(3L);
+
+        // when
+        int actualCount = tokenService.activeToken(concertId, size);
+
+        // then
+        verify(tokenRepository, never()).activatePendingTokens(anyLong(), anyInt(), anyInt(), any(LocalDateTime.class));
+        assertEquals(0, actualCount);
     }
 
     @Test
@@ -168,26 +229,17 @@ public class TokenServiceTest {
     public void expireToken(){
         // given
         long concertId = 1L;
-        List<Token> ativeTokens = new ArrayList<>();
-        Token givenActiveToken1 = new Token(1L, concertId, 1L, 1L, "ACTIVE", now.minusMinutes(60), now.minusMinutes(50));
-        Token givenActiveToken2 = new Token(2L, concertId, 2L, 2L, "ACTIVE", now.minusMinutes(50), now.minusMinutes(40));
-        Token givenActiveToken3 = new Token(3L, concertId, 3L, 3L, "ACTIVE", now.minusMinutes(40), now.minusMinutes(30));
-        ativeTokens.add(givenActiveToken1);
-        ativeTokens.add(givenActiveToken2);
-        ativeTokens.add(givenActiveToken3);
 
         // given Mock
-        when(tokenRepository.findActiveTokensByConcertId(concertId)).thenReturn(ativeTokens);
+        when(tokenRepository.expireActiveTokens(eq(concertId), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(3);
 
         // when
-        List<Token> actualToken = tokenService.expireToken(concertId);
+        int actualCount = tokenService.expireToken(concertId);
 
         // then
-        verify(tokenRepository, times(1)).findActiveTokensByConcertId(concertId);
-        verify(tokenRepository, times(3)).save(any(Token.class));
-        assertEquals(3, actualToken.size());
-        assertEquals("EXPIRED", actualToken.get(0).getStatus());
-        assertEquals("EXPIRED", actualToken.get(1).getStatus());
-        assertEquals("EXPIRED", actualToken.get(2).getStatus());
+        verify(tokenRepository, times(1)).expireActiveTokens(eq(concertId), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(tokenRepository, never()).findActiveTokensByConcertId(concertId);
+        verify(tokenRepository, never()).save(any(Token.class));
+        assertEquals(3, actualCount);
     }
 }
@@ -0,0 +1,103 @@
+package frankproject.tdd_cleanarchitecture_ticketing.domain.service;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.repository.TokenSequenceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WaitNumberAllocatorTest {
+
+    @Test
+    @DisplayName("블록 안에서는 DB 조회 없이 순번 발급")
+    public void next() {
+        // given
+        TokenSequenceRepository tokenSequenceRepository = mock(TokenSequenceRepository.class);
+        when(tokenSequenceRepository.allocateBlock(1L, 0, 10)).thenReturn(1L, 11L);
+        WaitNumberAllocator allocator = new WaitNumberAllocator(tokenSequenceRepository, 10, 60000);
+
+        // when
+        long first = 0;
+        long last = 0;
+        for (int i = 0; i < 15; i++) {
+            long value = allocator.next(1L);
+            if (i == 0) {
+                first = value;
+            }
+            last = value;
+        }
+
+        // then
+        assertEquals(1L, first);
+        assertEquals(15L, last);
+        verify(tokenSequenceRepository, times(2)).allocateBlock(1L, 0, 10);
+    }
+
+    @Test
+    @DisplayName("받은 지 오래된 블록은 남은 순번을 버리고 새 블록에서 발급")
+    public void nextAfterMaxBlockAge() throws InterruptedException {
+        // given
+        TokenSequenceRepository tokenSequenceRepository = mock(TokenSequenceRepository.class);
+        when(tokenSequenceRepository.allocateBlock(1L, 0, 10)).thenReturn(1L, 11L);
+        WaitNumberAllocator allocator = new WaitNumberAllocator(tokenSequenceRepository, 10, 50);
+
+        // when
+        long first = allocator.next(1L);
+        Thread.sleep(100);
+        long afterMaxAge = allocator.next(1L);
+
+        // then: 첫 블록의 2~10번은 버려짐
+        assertEquals(1L, first);
+        assertEquals(11L, afterMaxAge);
+        verify(tokenSequenceRepository, times(2)).allocateBlock(1L, 0, 10);
+    }
+
+    @Test
+    @DisplayName("동시 발급 시 순번 중복 없음")
+    public void nextConcurrently() throws InterruptedException {
+        // given
+        AtomicLong counter = new AtomicLong(1);
+        TokenSequenceRepository tokenSequenceRepository = mock(TokenSequenceRepository.class);
+        when(tokenSequenceRepository.allocateBlock(anyLong(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> counter.getAndAdd(invocation.<Integer>getArgument(2)));
+        WaitNumberAllocator allocator = new WaitNumberAllocator(tokenSequenceRepository, 7, 60000);
+
+        int threads = 8;
+        int perThread = 1000;
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        issued.add(allocator.next(1L));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertEquals(threads * perThread, issued.size());
+    }
+}
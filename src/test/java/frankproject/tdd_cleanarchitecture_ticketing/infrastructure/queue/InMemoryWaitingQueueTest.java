@@ -0,0 +1,87 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryWaitingQueueTest extends WaitingQueueContractTest {
+
+    private InMemoryWaitingQueue inMemoryWaitingQueue;
+
+    @BeforeEach
+    public void setUp() {
+        inMemoryWaitingQueue = new InMemoryWaitingQueue(60000);
+    }
+
+    @Override
+    protected WaitingQueue waitingQueue() {
+        return inMemoryWaitingQueue;
+    }
+
+    @Test
+    @DisplayName("초기 용량을 넘는 참가와 통과 후에도 순번 유지")
+    public void growAndCompact() {
+        int total = 5000;
+        for (long customerId = 1; customerId <= total; customerId++) {
+            inMemoryWaitingQueue.join(concertId, customerId);
+        }
+
+        assertEquals(3000, inMemoryWaitingQueue.admit(concertId, 3000));
+        for (long customerId = total + 1; customerId <= total + 4000; customerId++) {
+            inMemoryWaitingQueue.join(concertId, customerId);
+        }
+
+        assertEquals(1, inMemoryWaitingQueue.position(concertId, 3001L));
+        assertEquals(6000, inMemoryWaitingQueue.position(concertId, total + 4000L));
+    }
+
+    @Test
+    @DisplayName("유지 시간이 지난 활성화 토큰 만료")
+    public void expireAfterTtl() {
+        InMemoryWaitingQueue queue = new InMemoryWaitingQueue(0);
+        queue.join(concertId, 1L);
+        queue.join(concertId, 2L);
+        queue.admit(concertId, 2);
+        assertTrue(queue.liveConcertIds().contains(concertId));
+
+        assertEquals(2, queue.expire(concertId));
+        // 모두 만료되면 스케줄러 순회 대상에서 빠짐
+        assertFalse(queue.liveConcertIds().contains(concertId));
+    }
+
+    @Test
+    @DisplayName("재시작 시 스냅샷과 저널로 대기 순서와 활성화 목록 복구")
+    public void restoreFromSnapshotAndJournal(@TempDir Path dir) {
+        InMemoryWaitingQueue queue = new InMemoryWaitingQueue(60000, dir.toString(), 1 << 16);
+        for (long customerId = 1; customerId <= 5; customerId++) {
+            queue.join(concertId, customerId);
+        }
+        queue.admit(concertId, 2);
+        queue.snapshot();
+
+        // 스냅샷 이후 변경은 저널에만 남는다
+        queue.join(concertId, 6L);
+        queue.admit(concertId, 3);
+
+        InMemoryWaitingQueue restored = new InMemoryWaitingQueue(60000, dir.toString(), 1 << 16);
+
+        assertEquals(1, restored.position(concertId, 4L));
+        assertEquals(3, restored.position(concertId, 6L));
+        assertThrows(CoreException.class, () -> restored.position(concertId, 3L));
+        // 활성화된 고객은 다시 참가할 수 없음
+        assertThrows(CoreException.class, () -> restored.join(concertId, 1L));
+        assertTrue(restored.liveConcertIds().contains(concertId));
+        // 활성 3명이 그대로이므로 추가 통과 없음
+        assertEquals(0, restored.admit(concertId, 3));
+    }
+}
@@ -0,0 +1,20 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class JpaWaitingQueueTest extends WaitingQueueContractTest {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    protected WaitingQueue waitingQueue() {
+        return new JpaWaitingQueue(tokenService);
+    }
+}
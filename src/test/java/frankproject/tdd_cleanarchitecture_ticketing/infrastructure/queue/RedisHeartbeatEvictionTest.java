@@ -0,0 +1,61 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.QueueJoinBatcher;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.QueueLaneProperties;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.QueueAdmission;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "token.queue.heartbeat.timeout-millis=200",
+        "token.queue.heartbeat.sweep-interval-millis=0"
+})
+@ActiveProfiles("test")
+public class RedisHeartbeatEvictionTest {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private QueueJoinBatcher queueJoinBatcher;
+
+    @Test
+    @DisplayName("하트비트가 끊긴 대기자는 통과 전에 제거되고 뒤 순번이 당겨짐")
+    public void evictAbandonedWaiter() throws InterruptedException {
+        long concertId = ThreadLocalRandom.current().nextLong(1_000_000L, 1_000_000_000L);
+        RedisWaitingQueue waitingQueue = new RedisWaitingQueue(tokenService, queueJoinBatcher);
+        for (long customerId = 1; customerId <= 4; customerId++) {
+            waitingQueue.join(concertId, customerId);
+        }
+        assertEquals(1, waitingQueue.admit(concertId, 1));
+
+        // 2번 고객은 하트비트 없이 제한 시간이 지남
+        Thread.sleep(300);
+        tokenService.heartbeatWithRedis(concertId, List.of(3L, 4L));
+
+        // 빈 슬롯이 없어도 통과 처리 때 제거하고, 구독자 순번 갱신용으로 제거 당시 순번(맨 앞 = 1)을 반환
+        QueueAdmission admission = waitingQueue.admitByLane(concertId, 1);
+        assertEquals(0, admission.getAdmittedCount());
+        assertEquals(Map.of(QueueLaneProperties.DEFAULT_LANE, List.of(1L)), admission.getEvictedPositionsByLane());
+
+        CoreException exception = assertThrows(CoreException.class, () -> waitingQueue.position(concertId, 2L));
+        assertEquals(ErrorCode.TOKEN_NOT_FOUND, exception.getErrorCode());
+        assertEquals(1, waitingQueue.position(concertId, 3L));
+        assertEquals(2, waitingQueue.position(concertId, 4L));
+        assertTrue(tokenService.findEvictedCountsWithRedis().getOrDefault(concertId, 0L) >= 1);
+    }
+}
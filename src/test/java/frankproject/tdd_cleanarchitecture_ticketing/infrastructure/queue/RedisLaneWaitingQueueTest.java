@@ -0,0 +1,65 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "token.queue.lanes.weights.1=3")
+@ActiveProfiles("test")
+public class RedisLaneWaitingQueueTest {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    @DisplayName("차선마다 순번을 따로 세고, 빈 슬롯은 가중치 비율로 나눠 통과")
+    public void admitByLaneWeight() {
+        long concertId = ThreadLocalRandom.current().nextLong(1_000_000L, 1_000_000_000L);
+        // 1~4번은 일반(0), 5~8번은 선예매(1) 차선
+        for (long customerId = 1; customerId <= 8; customerId++) {
+            tokenService.generateNewTokenWithRedis(customerId, concertId, customerId <= 4 ? 0 : 1);
+        }
+        assertEquals(1, tokenService.checkTokenWithRedis(2L, concertId).getRank());
+        assertEquals(1, tokenService.checkTokenWithRedis(6L, concertId).getRank());
+        assertEquals(0, tokenService.checkTokenWithRedis(2L, concertId).getLane());
+        assertEquals(1, tokenService.checkTokenWithRedis(6L, concertId).getLane());
+
+        // 빈 슬롯 4개 = 일반 1 + 선예매 3
+        assertEquals(Map.of(0, 1, 1, 3), tokenService.activeTokenByLaneWithRedis(concertId, 4));
+
+        assertEquals(0, tokenService.checkTokenWithRedis(2L, concertId).getRank());
+        assertEquals(2, tokenService.checkTokenWithRedis(4L, concertId).getRank());
+        assertEquals(0, tokenService.checkTokenWithRedis(8L, concertId).getRank());
+        for (long admitted : new long[]{1L, 5L, 6L, 7L}) {
+            CoreException exception = assertThrows(CoreException.class, () -> tokenService.checkTokenWithRedis(admitted, concertId));
+            assertEquals(ErrorCode.TOKEN_NOT_FOUND, exception.getErrorCode());
+        }
+
+        // 선예매 차선이 비면 남은 슬롯은 모두 일반 차선으로
+        assertEquals(4, tokenService.activeTokenWithRedis(concertId, 8));
+        assertEquals(0, tokenService.activeTokenWithRedis(concertId, 100));
+    }
+
+    @Test
+    @DisplayName("차선이 달라도 고객당 한 번만 참가, 설정하지 않은 차선은 참가 불가")
+    public void joinLane() {
+        long concertId = ThreadLocalRandom.current().nextLong(1_000_000L, 1_000_000_000L);
+        tokenService.generateNewTokenWithRedis(1L, concertId, 1);
+
+        CoreException duplicated = assertThrows(CoreException.class, () -> tokenService.generateNewTokenWithRedis(1L, concertId, 0));
+        assertEquals(ErrorCode.ALREADY_IN_QUEUE, duplicated.getErrorCode());
+        CoreException unknownLane = assertThrows(CoreException.class, () -> tokenService.generateNewTokenWithRedis(2L, concertId, 9));
+        assertEquals(ErrorCode.LANE_NOT_FOUND, unknownLane.getErrorCode());
+    }
+}
@@ -0,0 +1,24 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.QueueJoinBatcher;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RedisWaitingQueueTest extends WaitingQueueContractTest {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private QueueJoinBatcher queueJoinBatcher;
+
+    @Override
+    protected WaitingQueue waitingQueue() {
+        return new RedisWaitingQueue(tokenService, queueJoinBatcher);
+    }
+}
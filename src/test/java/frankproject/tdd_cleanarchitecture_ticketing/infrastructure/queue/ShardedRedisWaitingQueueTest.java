@@ -0,0 +1,60 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.QueueJoinBatcher;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.TokenService;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 한 콘서트 대기열을 4개로 나눠도 같은 계약(FIFO 순번, 중복 참가, 통과)을 지키는지 확인
+@SpringBootTest(properties = "token.queue.redis.shards=4")
+@ActiveProfiles("test")
+public class ShardedRedisWaitingQueueTest extends WaitingQueueContractTest {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private QueueJoinBatcher queueJoinBatcher;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    protected WaitingQueue waitingQueue() {
+        return new RedisWaitingQueue(tokenService, queueJoinBatcher);
+    }
+
+    @Test
+    @DisplayName("분할 대기열에서 꺼낸 뒤 활성화 전에 멈춘 멤버는 다음 통과에서 다시 활성화")
+    public void redriveStagedMembers() {
+        tokenService.generateNewTokenWithRedis(1L, concertId);
+        // 꺼내기 스크립트까지만 실행되고 서버가 멈춘 상황: 1번 고객(분할 1)의 멤버가 통과 대기 ZSet에만 남아 있음
+        byte[] shardKey = ("queue:{" + concertId + "#1}").getBytes(StandardCharsets.UTF_8);
+        byte[] admittingKey = ("queue:{" + concertId + "#1}:admitting").getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            Set<byte[]> members = connection.zSetCommands().zRange(shardKey, 0, 0);
+            byte[] member = members.iterator().next();
+            connection.zSetCommands().zRem(shardKey, member);
+            connection.zSetCommands().zAdd(admittingKey, System.currentTimeMillis(), member, RedisZSetCommands.ZAddArgs.empty());
+            return null;
+        });
+
+        assertTrue(tokenService.hasLiveTokensWithRedis(concertId));
+        assertEquals(1, tokenService.activeTokenWithRedis(concertId, 10));
+        assertEquals(0L, redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zCard(admittingKey)));
+        assertEquals(0, tokenService.activeTokenWithRedis(concertId, 10));
+    }
+}
@@ -0,0 +1,94 @@
+package frankproject.tdd_cleanarchitecture_ticketing.infrastructure.queue;
+
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.CoreException;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.common.ErrorCode;
+import frankproject.tdd_cleanarchitecture_ticketing.domain.service.queue.WaitingQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 모든 대기열 엔진이 통과해야 하는 공통 테스트
+public abstract class WaitingQueueContractTest {
+
+    protected long concertId;
+
+    protected abstract WaitingQueue waitingQueue();
+
+    @BeforeEach
+    public void setUpConcert() {
+        // 엔진이 저장소를 공유하더라도 테스트끼리 섞이지 않도록 콘서트 ID를 매번 새로 사용
+        concertId = ThreadLocalRandom.current().nextLong(1_000_000L, 1_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("참가 순서대로 대기 순번 부여")
+    public void join() {
+        assertEquals(1, waitingQueue().join(concertId, 1L));
+        assertEquals(2, waitingQueue().join(concertId, 2L));
+        assertEquals(3, waitingQueue().join(concertId, 3L));
+        assertEquals(2, waitingQueue().position(concertId, 2L));
+    }
+
+    @Test
+    @DisplayName("중복 참가 시 ALREADY_IN_QUEUE")
+    public void joinDuplicated() {
+        waitingQueue().join(concertId, 1L);
+
+        CoreException exception = assertThrows(CoreException.class, () -> waitingQueue().join(concertId, 1L));
+        assertEquals(ErrorCode.ALREADY_IN_QUEUE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("참가하지 않은 고객 조회 시 TOKEN_NOT_FOUND")
+    public void positionNotFound() {
+        waitingQueue().join(concertId, 1L);
+
+        CoreException exception = assertThrows(CoreException.class, () -> waitingQueue().position(concertId, 2L));
+        assertEquals(ErrorCode.TOKEN_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("최대 활성화 인원까지 앞에서부터 통과")
+    public void admit() {
+        waitingQueue().join(concertId, 1L);
+        waitingQueue().join(concertId, 2L);
+        waitingQueue().join(concertId, 3L);
+
+        assertEquals(2, waitingQueue().admit(concertId, 2));
+        assertEquals(1, waitingQueue().position(concertId, 3L));
+
+        // 통과한 고객은 더 이상 대기 중이 아님
+        CoreException exception = assertThrows(CoreException.class, () -> waitingQueue().position(concertId, 1L));
+        assertEquals(ErrorCode.TOKEN_NOT_FOUND, exception.getErrorCode());
+
+        // 활성화 인원이 가득 차면 더 통과시키지 않음
+        assertEquals(0, waitingQueue().admit(concertId, 2));
+        assertEquals(1, waitingQueue().position(concertId, 3L));
+    }
+
+    @Test
+    @DisplayName("참가한 콘서트는 스케줄러 순회 대상에 등록")
+    public void liveConcertIds() {
+        assertFalse(waitingQueue().liveConcertIds().contains(concertId));
+
+        waitingQueue().join(concertId, 1L);
+
+        assertTrue(waitingQueue().liveConcertIds().contains(concertId));
+    }
+
+    @Test
+    @DisplayName("유지 시간이 지나지 않은 활성화 토큰은 만료되지 않음")
+    public void expire() {
+        waitingQueue().join(concertId, 1L);
+        waitingQueue().admit(concertId, 1);
+
+        assertEquals(0, waitingQueue().expire(concertId));
+    }
+}
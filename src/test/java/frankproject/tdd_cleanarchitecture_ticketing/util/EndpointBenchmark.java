@@ -0,0 +1,114 @@
+package frankproject.tdd_cleanarchitecture_ticketing.util;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 플랫폼 스레드 / 가상 스레드 모드 비교용 부하 발생기 (실행 중인 서버 대상, 단위 테스트 아님)
+// 사용법: EndpointBenchmark <baseUrl> <queue|reservation> <동시 요청 수> <초> [Authorization 헤더] [좌석 ID 범위]
+// 결과: 처리량(req/s), p50/p99 응답 시간, 실패(2xx 외) 건수
+public class EndpointBenchmark {
+
+    private static final AtomicLong CUSTOMER_ID = new AtomicLong(System.currentTimeMillis() % 1_000_000 * 1000);
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        String scenario = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        long durationMillis = Long.parseLong(args[3]) * 1000;
+        String authorization = args.length > 4 ? args[4] : "";
+        int seatRange = args.length > 5 ? Integer.parseInt(args[5]) : 50;
+
+        // 부하 발생 쪽이 병목이 되지 않도록 클라이언트는 가상 스레드로 실행
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long endAt = System.currentTimeMillis() + durationMillis;
+        AtomicLong failures = new AtomicLong();
+
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long customerId = 0;
+                    while (System.currentTimeMillis() < endAt) {
+                        // 대기열: 새 고객으로 참가한 뒤 같은 고객의 순번 조회를 번갈아 요청
+                        boolean join = count % 2 == 0;
+                        if (join) {
+                            customerId = CUSTOMER_ID.incrementAndGet();
+                        }
+                        HttpRequest request = "queue".equals(scenario)
+                                ? queueRequest(baseUrl, customerId, join)
+                                : reservationRequest(baseUrl, authorization, customerId, seatRange);
+                        long startedAt = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - startedAt;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = futures.stream().flatMapToLong(future -> {
+            try {
+                return Arrays.stream(future.get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).sorted().toArray();
+
+        System.out.printf("scenario=%s concurrency=%d requests=%d failures=%d throughput=%.1f req/s p50=%.1f ms p99=%.1f ms%n",
+                scenario, concurrency, all.length, failures.get(), all.length * 1000.0 / durationMillis,
+                percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    private static HttpRequest queueRequest(String baseUrl, long customerId, boolean join) {
+        long concertId = 1;
+        if (join) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/tokens/generate"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"customerId\":" + customerId + ",\"concertId\":" + concertId + "}"))
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/tokens/check?customerId=" + customerId + "&concertId=" + concertId))
+                .GET()
+                .build();
+    }
+
+    // 좌석 예약 (같은 좌석을 두고 경쟁하도록 좌석 ID를 좁은 범위에서 선택)
+    private static HttpRequest reservationRequest(String baseUrl, String authorization, long customerId, int seatRange) {
+        long seatId = ThreadLocalRandom.current().nextInt(seatRange) + 1;
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservation"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"seatId\":" + seatId + ",\"customerId\":" + customerId + "}"))
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+    }
+}